@@ -0,0 +1,82 @@
+package com.company.employee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Opt-in read replica (datasource.replica.enabled): @Transactional(readOnly = true) work is served by the
+// replica pool, everything else by the primary configured under spring.datasource.*
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    // Empty means the primary's credentials
+    @Value("${datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.max-pool-size:10}")
+    private int replicaMaxPoolSize;
+
+    // Short, so reads fall back to the primary quickly when the replica is down (Hikari's default is 30 s)
+    @Value("${datasource.replica.connection-timeout-ms:1500}")
+    private long replicaConnectionTimeoutMs;
+
+    @Value("${datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${datasource.replica.lag-check-ms:5000}")
+    private long lagCheckMs;
+
+    @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername);
+        dataSource.setPassword(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword);
+        dataSource.setMaximumPoolSize(replicaMaxPoolSize);
+        dataSource.setConnectionTimeout(replicaConnectionTimeoutMs);
+        dataSource.setValidationTimeout(Math.min(replicaConnectionTimeoutMs, dataSource.getValidationTimeout()));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // The lazy proxy defers fetching a connection until the first statement, by which time the
+    // transaction's read-only flag is known and the routing can pick the pool
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, maxLagSeconds, lagCheckMs, lagQuery);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.employee.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. The replica is used only
+ * while it is reachable and its replication lag is within the limit; the lag is re-checked at most every
+ * lagCheckMs by whichever caller finds the check due. Must sit behind a LazyConnectionDataSourceProxy so
+ * the connection is fetched after the transaction's read-only flag has been set.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final long lagCheckMs;
+    // Returns the lag in seconds (first row); MySQL's SHOW REPLICA STATUS columns are recognised by name.
+    // Blank means only check that the replica answers, e.g. for a second standalone instance used locally.
+    private final String lagQuery;
+
+    private final ReentrantLock checkLock = new ReentrantLock();
+    private volatile boolean replicaUsable = true;
+    private volatile long nextCheckAt;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagSeconds,
+                                        long lagCheckMs, String lagQuery) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagCheckMs = lagCheckMs;
+        this.lagQuery = lagQuery;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && isReplicaUsable() ? REPLICA : PRIMARY;
+    }
+
+    // A replica that cannot hand out a connection is taken out of rotation and the read goes to the primary
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markUnusable("connection failed: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        long now = System.currentTimeMillis();
+        if (now >= nextCheckAt && checkLock.tryLock()) {
+            try {
+                if (now >= nextCheckAt) {
+                    boolean usable = checkReplica();
+                    if (usable && !replicaUsable) {
+                        logger.info("Read replica is back in rotation");
+                    }
+                    replicaUsable = usable;
+                    nextCheckAt = now + lagCheckMs;
+                }
+            } finally {
+                checkLock.unlock();
+            }
+        }
+        return replicaUsable;
+    }
+
+    private boolean checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS) || logUnusable("not answering");
+            }
+            try (Statement statement = connection.createStatement()) {
+                // A replica that hangs must not hold up the read that runs the check
+                statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+                ResultSet rs = statement.executeQuery(lagQuery);
+                if (!rs.next()) {
+                    // Not configured as a replica (no replication status), nothing to lag behind
+                    return true;
+                }
+                long lag = secondsBehind(rs);
+                if (rs.wasNull()) {
+                    return logUnusable("replication is not running");
+                }
+                return lag <= maxLagSeconds || logUnusable(lag + "s behind the primary");
+            }
+        } catch (SQLException e) {
+            return logUnusable("check failed: " + e.getMessage());
+        }
+    }
+
+    private static long secondsBehind(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            String name = metaData.getColumnLabel(column);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(name) || "Seconds_Behind_Master".equalsIgnoreCase(name)) {
+                return rs.getLong(column);
+            }
+        }
+        return rs.getLong(1);
+    }
+
+    private void markUnusable(String reason) {
+        logUnusable(reason);
+        replicaUsable = false;
+        nextCheckAt = System.currentTimeMillis() + lagCheckMs;
+    }
+
+    // Logged only when the replica leaves rotation; always returns false
+    private boolean logUnusable(String reason) {
+        if (replicaUsable) {
+            logger.warn("Read replica taken out of rotation, reads go to the primary: {}", reason);
+        }
+        return false;
+    }
+}
@@ -1,15 +1,27 @@
 package com.company.employee.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.company.employee.dto.CacheStatistics;
+import com.company.employee.dto.CursorPage;
+import com.company.employee.dto.EmployeeChangeFeed;
 import com.company.employee.entity.Employee;
 import com.company.employee.service.EmployeeService;
 import com.company.employee.service.JwtInterServiceClient;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,27 +29,43 @@ import java.util.Optional;
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private EmployeeService employeeService;
 
     @Autowired
     private JwtInterServiceClient jwtInterServiceClient;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Value("${payroll.service.url}")
     private String payrollServiceUrl;
 
     // Create a new employee
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@Valid @RequestBody Employee employee) {
+        // Saving with an existing id updates the employee, so payroll's cached copy must go
+        // (read the old code before saving; the save merges into the same managed entity)
+        String previousCode = employee.getId() != null
+                ? employeeService.getEmployeeById(employee.getId()).map(Employee::getEmployeeCode).orElse(null)
+                : null;
         Employee savedEmployee = employeeService.saveEmployee(employee);
+        if (previousCode != null) {
+            evictFromPayrollCache(previousCode);
+            if (!previousCode.equals(savedEmployee.getEmployeeCode())) {
+                evictFromPayrollCache(savedEmployee.getEmployeeCode());
+            }
+        }
         return ResponseEntity.ok(savedEmployee);
     }
 
     @PostMapping("/bulk")
     public ResponseEntity<List<Employee>> createEmployees(@Valid @RequestBody List<Employee> employees) {
-        List<Employee> saved = employees.stream()
-            .map(employeeService::saveEmployee)
-            .toList();
+        List<Employee> saved = employeeService.saveEmployees(employees);
         return ResponseEntity.ok(saved);
     }
 
@@ -48,6 +76,49 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    // Get employees one page at a time (keyset pagination on id)
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Employee>> getEmployeePage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(employeeService.getEmployeePage(null, afterId, limit));
+    }
+
+    // Stream employees as newline-delimited JSON without loading them into memory
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(@RequestParam(required = false) String department) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> employeeService.streamEmployees(department, employee -> {
+            try {
+                out.write(writer.writeValueAsBytes(employee));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    // Employee changes after the given version, for consumers that keep a local copy of the roster
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeChangeFeed> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(employeeService.getChangesSince(since, limit));
+    }
+
+    // Current change feed version
+    @GetMapping("/changes/latest")
+    public ResponseEntity<Long> getLatestChangeVersion() {
+        return ResponseEntity.ok(employeeService.getLatestChangeVersion());
+    }
+
+    // Second-level cache hit ratios (employees by id, by code, and cached queries)
+    @GetMapping("/cache/statistics")
+    public ResponseEntity<CacheStatistics> getCacheStatistics() {
+        return ResponseEntity.ok(employeeService.getCacheStatistics());
+    }
+
     // Get employee by ID
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
@@ -71,10 +142,20 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/department/{department}/page")
+    public ResponseEntity<CursorPage<Employee>> getEmployeePageByDepartment(
+            @PathVariable String department,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(employeeService.getEmployeePage(department, afterId, limit));
+    }
+
     // Delete employee by ID
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
+        Optional<Employee> employee = employeeService.getEmployeeById(id);
         employeeService.deleteEmployee(id);
+        employee.ifPresent(deleted -> evictFromPayrollCache(deleted.getEmployeeCode()));
         return ResponseEntity.noContent().build();
     }
 
@@ -95,8 +176,18 @@ public class EmployeeController {
 
         // Delete employee
         employeeService.deleteEmployee(id);
-        
+        evictFromPayrollCache(employeeCode);
 
         return ResponseEntity.ok("Employee and related salaries deleted successfully.");
     }
+
+    // Tell payroll-service to drop its cached copy of the employee. Best effort: the cache entry
+    // also expires on its own, so a failed push must not fail the employee update.
+    private void evictFromPayrollCache(String employeeCode) {
+        try {
+            jwtInterServiceClient.deleteWithJwt(payrollServiceUrl + "/api/payroll/employee-cache/" + employeeCode);
+        } catch (Exception e) {
+            logger.warn("Could not evict employee {} from payroll-service cache: {}", employeeCode, e.getMessage());
+        }
+    }
 }
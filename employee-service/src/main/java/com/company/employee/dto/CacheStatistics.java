@@ -0,0 +1,80 @@
+package com.company.employee.dto;
+
+import java.util.List;
+
+// Second-level cache counters since startup, per cache region
+public class CacheStatistics {
+    private List<RegionStatistics> regions;
+
+    public CacheStatistics() {}
+
+    public CacheStatistics(List<RegionStatistics> regions) {
+        this.regions = regions;
+    }
+
+    public List<RegionStatistics> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<RegionStatistics> regions) {
+        this.regions = regions;
+    }
+
+    public static class RegionStatistics {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private double hitRatio;
+
+        public RegionStatistics() {}
+
+        public RegionStatistics(String region, long hits, long misses, long puts) {
+            this.region = region;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public void setHits(long hits) {
+            this.hits = hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public void setMisses(long misses) {
+            this.misses = misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public void setPuts(long puts) {
+            this.puts = puts;
+        }
+
+        public double getHitRatio() {
+            return hitRatio;
+        }
+
+        public void setHitRatio(double hitRatio) {
+            this.hitRatio = hitRatio;
+        }
+    }
+}
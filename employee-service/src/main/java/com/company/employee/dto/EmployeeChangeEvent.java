@@ -0,0 +1,65 @@
+package com.company.employee.dto;
+
+import com.company.employee.entity.Employee;
+import com.company.employee.enums.EmployeeChangeType;
+
+// One entry of the change feed. For CREATED/UPDATED, employee is the current state of the record
+// (null if it has been deleted since); consumers apply events as idempotent upserts/removals.
+public class EmployeeChangeEvent {
+    private Long version;
+    private EmployeeChangeType changeType;
+    private Long employeeId;
+    private String employeeCode;
+    private Employee employee;
+
+    public EmployeeChangeEvent() {}
+
+    public EmployeeChangeEvent(Long version, EmployeeChangeType changeType, Long employeeId,
+                               String employeeCode, Employee employee) {
+        this.version = version;
+        this.changeType = changeType;
+        this.employeeId = employeeId;
+        this.employeeCode = employeeCode;
+        this.employee = employee;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public EmployeeChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(EmployeeChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
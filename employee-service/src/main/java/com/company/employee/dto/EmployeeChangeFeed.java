@@ -0,0 +1,42 @@
+package com.company.employee.dto;
+
+import java.util.List;
+
+// A batch of change feed events after a given version; poll again with since=lastVersion while hasMore is true
+public class EmployeeChangeFeed {
+    private List<EmployeeChangeEvent> changes;
+    private Long lastVersion;
+    private boolean hasMore;
+
+    public EmployeeChangeFeed() {}
+
+    public EmployeeChangeFeed(List<EmployeeChangeEvent> changes, Long lastVersion, boolean hasMore) {
+        this.changes = changes;
+        this.lastVersion = lastVersion;
+        this.hasMore = hasMore;
+    }
+
+    public List<EmployeeChangeEvent> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<EmployeeChangeEvent> changes) {
+        this.changes = changes;
+    }
+
+    public Long getLastVersion() {
+        return lastVersion;
+    }
+
+    public void setLastVersion(Long lastVersion) {
+        this.lastVersion = lastVersion;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -1,19 +1,28 @@
 package com.company.employee.entity;
 
 
+import com.company.employee.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Cached by id and by employee code (second-level cache); Hibernate updates both on save and delete
 @Entity
 @Table(name = "employees")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.EMPLOYEE_REGION)
+@NaturalIdCache(region = HibernateCacheConfig.EMPLOYEE_CODE_REGION)
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank(message = "Employee code is required")
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String employeeCode;
 
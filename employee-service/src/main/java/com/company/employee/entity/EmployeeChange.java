@@ -0,0 +1,75 @@
+package com.company.employee.entity;
+
+import com.company.employee.enums.EmployeeChangeType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Append-only log of employee changes; the auto-increment id is the change feed version
+@Entity
+@Table(name = "employee_changes")
+public class EmployeeChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long employeeId;
+
+    @Column(nullable = false)
+    private String employeeCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmployeeChangeType changeType;
+
+    private LocalDateTime changedAt = LocalDateTime.now();
+
+    public EmployeeChange() {}
+
+    public EmployeeChange(Long employeeId, String employeeCode, EmployeeChangeType changeType) {
+        this.employeeId = employeeId;
+        this.employeeCode = employeeCode;
+        this.changeType = changeType;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public EmployeeChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(EmployeeChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.company.employee.enums;
+
+public enum EmployeeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
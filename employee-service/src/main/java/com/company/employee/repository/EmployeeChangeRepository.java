@@ -0,0 +1,18 @@
+package com.company.employee.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.company.employee.entity.EmployeeChange;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+    List<EmployeeChange> findByIdGreaterThanOrderByIdAsc(Long sinceVersion, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM EmployeeChange c")
+    Long findLatestVersion();
+}
@@ -0,0 +1,106 @@
+package com.company.employee.repository;
+
+import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+public class EmployeeJdbcRepository {
+
+    // Rows per JDBC batch; with rewriteBatchedStatements=true each batch goes out as one multi-row INSERT
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO employees "
+            + "(employee_code, first_name, last_name, email, department, position, join_date, basic_salary, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CHANGE_SQL = "INSERT INTO employee_changes "
+            + "(employee_id, employee_code, change_type, changed_at) VALUES (?, ?, ?, ?)";
+
+    private static final RowMapper<Employee> EMPLOYEE_ROW_MAPPER = (rs, rowNum) -> {
+        Employee e = new Employee();
+        e.setId(rs.getLong("id"));
+        e.setEmployeeCode(rs.getString("employee_code"));
+        e.setFirstName(rs.getString("first_name"));
+        e.setLastName(rs.getString("last_name"));
+        e.setEmail(rs.getString("email"));
+        e.setDepartment(rs.getString("department"));
+        e.setPosition(rs.getString("position"));
+        Date joinDate = rs.getDate("join_date");
+        e.setJoinDate(joinDate != null ? joinDate.toLocalDate() : null);
+        double basicSalary = rs.getDouble("basic_salary");
+        e.setBasicSalary(rs.wasNull() ? null : basicSalary);
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        e.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        return e;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Stream employees in id order, optionally filtered by department, one row at a time.
+    // The forward-only result set with Integer.MIN_VALUE fetch size makes MySQL Connector/J stream rows
+    // instead of buffering the whole result, so memory stays flat however large the table is.
+    public void streamEmployees(String department, Consumer<Employee> consumer) {
+        String sql = department != null
+                ? "SELECT * FROM employees WHERE department = ? ORDER BY id"
+                : "SELECT * FROM employees ORDER BY id";
+
+        jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(Integer.MIN_VALUE);
+                if (department != null) {
+                    ps.setString(1, department);
+                }
+                return ps;
+            },
+            rs -> {
+                consumer.accept(EMPLOYEE_ROW_MAPPER.mapRow(rs, 0));
+            });
+    }
+
+    // Insert many employees with JDBC batching (IDENTITY ids make Hibernate insert one row per round-trip).
+    // Generated ids are not read back.
+    public void insertAll(List<Employee> employees) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, employees, INSERT_BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, e.getEmployeeCode());
+            ps.setString(2, e.getFirstName());
+            ps.setString(3, e.getLastName());
+            ps.setString(4, e.getEmail());
+            ps.setString(5, e.getDepartment());
+            ps.setString(6, e.getPosition());
+            if (e.getJoinDate() != null) {
+                ps.setDate(7, Date.valueOf(e.getJoinDate()));
+            } else {
+                ps.setNull(7, Types.DATE);
+            }
+            if (e.getBasicSalary() != null) {
+                ps.setDouble(8, e.getBasicSalary());
+            } else {
+                ps.setNull(8, Types.DOUBLE);
+            }
+            ps.setTimestamp(9, e.getCreatedAt() != null ? Timestamp.valueOf(e.getCreatedAt()) : null);
+        });
+    }
+
+    // Append change log rows for a batch of employees in the caller's transaction
+    public void insertChanges(List<EmployeeChange> changes) {
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_SQL, changes, INSERT_BATCH_SIZE, (ps, c) -> {
+            ps.setLong(1, c.getEmployeeId());
+            ps.setString(2, c.getEmployeeCode());
+            ps.setString(3, c.getChangeType().name());
+            ps.setTimestamp(4, Timestamp.valueOf(c.getChangedAt()));
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package com.company.employee.repository;
+
+import com.company.employee.entity.Employee;
+
+import java.util.Optional;
+
+// Lookups by natural id go through the natural-id cache and then the entity cache, skipping SQL on a hit
+public interface EmployeeNaturalIdRepository {
+    Optional<Employee> loadByEmployeeCode(String employeeCode);
+}
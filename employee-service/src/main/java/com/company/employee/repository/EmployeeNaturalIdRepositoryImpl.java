@@ -0,0 +1,21 @@
+package com.company.employee.repository;
+
+import com.company.employee.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class EmployeeNaturalIdRepositoryImpl implements EmployeeNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Employee> loadByEmployeeCode(String employeeCode) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .loadOptional(employeeCode);
+    }
+}
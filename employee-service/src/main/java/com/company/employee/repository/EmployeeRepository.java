@@ -1,18 +1,45 @@
 package com.company.employee.repository;
 
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.company.employee.entity.Employee;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeNaturalIdRepository {
     Optional<Employee> findByEmployeeCode(String employeeCode);
 
+    // Results are kept in the query cache until the employees table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmail(String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Employee> findByDepartment(String department);
+    List<Employee> findByEmployeeCodeIn(Collection<String> employeeCodes);
+
+    // Bulk reads, served by the read replica inside read-only transactions: they use the second-level cache
+    // but do not put rows into it (cache mode GET)
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Employee> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Employee> findAllById(Iterable<Long> ids);
+
+    // Keyset pagination: rows after the given id, in id order
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
+    List<Employee> findByDepartmentAndIdGreaterThanOrderByIdAsc(String department, Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -1,52 +1,223 @@
 package com.company.employee.service;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.company.employee.config.HibernateCacheConfig;
+import com.company.employee.dto.CacheStatistics;
+import com.company.employee.dto.CursorPage;
+import com.company.employee.dto.EmployeeChangeEvent;
+import com.company.employee.dto.EmployeeChangeFeed;
 import com.company.employee.entity.Employee;
+import com.company.employee.entity.EmployeeChange;
+import com.company.employee.enums.EmployeeChangeType;
+import com.company.employee.repository.EmployeeChangeRepository;
+import com.company.employee.repository.EmployeeJdbcRepository;
 import com.company.employee.repository.EmployeeRepository;
 
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    // Save a new employee or update an existing one
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Save a new employee or update an existing one; the change is logged in the same transaction
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        boolean exists = employee.getId() != null && employeeRepository.existsById(employee.getId());
+        Employee saved = employeeRepository.save(employee);
+        recordChange(saved, exists ? EmployeeChangeType.UPDATED : EmployeeChangeType.CREATED);
+        return saved;
     }
 
+    // Save many new employees with one batched insert; all rows are saved or none are
+    @Transactional
+    public List<Employee> saveEmployees(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+
+        // The JDBC insert bypasses the entity validation JPA runs on persist
+        for (Employee employee : employees) {
+            Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+            if (!violations.isEmpty()) {
+                throw new RuntimeException("Invalid employee " + employee.getEmployeeCode() + ": " + violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+
+        employeeJdbcRepository.insertAll(employees);
+        evictQueryCacheAfterCommit();
+
+        // Read the rows back in one query to return them with their generated ids
+        List<Employee> saved = employeeRepository.findByEmployeeCodeIn(employees.stream().map(Employee::getEmployeeCode).toList());
+
+        employeeJdbcRepository.insertChanges(saved.stream()
+                .map(e -> new EmployeeChange(e.getId(), e.getEmployeeCode(), EmployeeChangeType.CREATED))
+                .toList());
+        return saved;
+    }
+
+    // Read-only transactions are served by the read replica when one is configured. Their repository queries
+    // (findAll, findAllById, the keyset pages) read the second-level cache but never fill it. Lookups that do
+    // fill it (by id, code, email, department) run read-write on the primary.
+
     // Get all employees
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
-    // Get an employee by ID
+    // Get one keyset page of employees, optionally limited to a department
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> getEmployeePage(String department, Long afterId, int limit) {
+        long cursor = afterId != null ? afterId : 0L;
+        Limit pageLimit = Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        List<Employee> employees = department != null
+                ? employeeRepository.findByDepartmentAndIdGreaterThanOrderByIdAsc(department, cursor, pageLimit)
+                : employeeRepository.findByIdGreaterThanOrderByIdAsc(cursor, pageLimit);
+
+        Long nextCursor = employees.size() < pageLimit.max() ? null : employees.get(employees.size() - 1).getId();
+        return new CursorPage<>(employees, nextCursor);
+    }
+
+    // Stream employees one at a time without materializing the result
+    @Transactional(readOnly = true)
+    public void streamEmployees(String department, Consumer<Employee> consumer) {
+        employeeJdbcRepository.streamEmployees(department, consumer);
+    }
+
+    // Get an employee by ID. Read-write so it stays on the primary: the controller reads the current row
+    // before updates and deletes (without a transaction here, SimpleJpaRepository's read-only one would
+    // send findById to the replica, and a cache miss would fill the employees region from it)
+    @Transactional
     public Optional<Employee> getEmployeeById(Long id) {
         return employeeRepository.findById(id);
     }
 
-    // Get an employee by employee code
+    // The cached lookups below stay on the primary: a miss fills the cache, and a row read from a lagging
+    // replica would then be served until the cache entry is evicted or expires
+
+    // Get an employee by employee code (natural-id cache, then entity cache)
+    @Transactional
     public Optional<Employee> getEmployeeByEmployeeCode(String employeeCode) {
-        return employeeRepository.findByEmployeeCode(employeeCode);
+        return employeeRepository.loadByEmployeeCode(employeeCode);
     }
 
     // Get an employee by email
+    @Transactional
     public Optional<Employee> getEmployeeByEmail(String email) {
         return employeeRepository.findByEmail(email);
     }
 
     // Get all employees in a department
+    @Transactional
     public List<Employee> getEmployeesByDepartment(String department) {
         return employeeRepository.findByDepartment(department);
     }
 
     // Delete an employee by ID
+    @Transactional
     public void deleteEmployee(Long id) {
+        Optional<Employee> employee = employeeRepository.findById(id);
         employeeRepository.deleteById(id);
+        employee.ifPresent(deleted -> recordChange(deleted, EmployeeChangeType.DELETED));
+    }
+
+    // Changes recorded after the given version, oldest first. Created/updated events carry the employee's
+    // current state, so a consumer can apply them as upserts without fetching the employee again.
+    @Transactional(readOnly = true)
+    public EmployeeChangeFeed getChangesSince(long sinceVersion, int limit) {
+        Limit pageLimit = Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        List<EmployeeChange> changes = employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(sinceVersion, pageLimit);
+
+        // One query for the current state of every employee touched in this batch
+        Map<Long, Employee> current = employeeRepository.findAllById(changes.stream()
+                        .filter(c -> c.getChangeType() != EmployeeChangeType.DELETED)
+                        .map(EmployeeChange::getEmployeeId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<EmployeeChangeEvent> events = changes.stream()
+                .map(c -> new EmployeeChangeEvent(c.getId(), c.getChangeType(), c.getEmployeeId(), c.getEmployeeCode(),
+                        c.getChangeType() == EmployeeChangeType.DELETED ? null : current.get(c.getEmployeeId())))
+                .toList();
+
+        long lastVersion = changes.isEmpty() ? sinceVersion : changes.get(changes.size() - 1).getId();
+        return new EmployeeChangeFeed(events, lastVersion, changes.size() == pageLimit.max());
+    }
+
+    // Version of the newest change; a consumer that copies the full roster starts polling from here
+    @Transactional(readOnly = true)
+    public long getLatestChangeVersion() {
+        return employeeChangeRepository.findLatestVersion();
+    }
+
+    // Hit, miss and put counts of the employee caches and the query cache
+    public CacheStatistics getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheStatistics.RegionStatistics> regions = new ArrayList<>();
+        for (String region : List.of(HibernateCacheConfig.EMPLOYEE_REGION, HibernateCacheConfig.EMPLOYEE_CODE_REGION)) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            regions.add(new CacheStatistics.RegionStatistics(region, regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(), regionStatistics.getPutCount()));
+        }
+        regions.add(new CacheStatistics.RegionStatistics(HibernateCacheConfig.QUERY_RESULTS_REGION,
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        return new CacheStatistics(regions);
+    }
+
+    // Rows written with JDBC bypass Hibernate, so cached query results over employees are dropped once they
+    // are committed. The entity and natural-id caches only hold existing rows and are not affected by inserts.
+    private void evictQueryCacheAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            }
+        });
+    }
+
+    private void recordChange(Employee employee, EmployeeChangeType changeType) {
+        employeeChangeRepository.save(new EmployeeChange(employee.getId(), employee.getEmployeeCode(), changeType));
     }
 }
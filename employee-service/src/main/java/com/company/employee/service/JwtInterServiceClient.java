@@ -1,6 +1,9 @@
 package com.company.employee.service;
 
 import com.company.employee.security.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -11,10 +14,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class JwtInterServiceClient {
 
+    private record CachedToken(String value, long refreshAtMillis) {
+        boolean isUsableAt(long nowMillis) {
+            return nowMillis < refreshAtMillis;
+        }
+    }
+
     @Autowired
     private RestTemplate restTemplate;
 
@@ -27,10 +37,62 @@ public class JwtInterServiceClient {
     @Value("${payroll.service.auth.role:HR}")
     private String hrRole;
 
+    // Refresh the cached token this long before it expires
+    @Value("${interservice.jwt.refresh-before-expiry-ms:60000}")
+    private long refreshBeforeExpiryMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock tokenLock = new ReentrantLock();
+    private volatile CachedToken cachedToken;
+    private Counter tokenCacheHits;
+    private Counter tokenRefreshes;
+
+    @PostConstruct
+    void registerTokenCacheMetrics() {
+        tokenCacheHits = meterRegistry.counter("interservice.jwt.cache.hits");
+        tokenRefreshes = meterRegistry.counter("interservice.jwt.cache.refreshes");
+        meterRegistry.gauge("interservice.jwt.cache.hit.ratio", this, client -> {
+            double hits = client.tokenCacheHits.count();
+            double total = hits + client.tokenRefreshes.count();
+            return total == 0 ? 0 : hits / total;
+        });
+    }
+
     /**
-     * Gets a JWT token for inter-service communication to payroll service
+     * Gets a JWT token for inter-service communication. One signed token is reused until shortly
+     * before it expires; only one thread signs the replacement while the others wait for it.
      */
     public String getInterServiceJwtToken() {
+        CachedToken token = cachedToken;
+        if (token != null && token.isUsableAt(System.currentTimeMillis())) {
+            tokenCacheHits.increment();
+            return token.value();
+        }
+
+        tokenLock.lock();
+        try {
+            token = cachedToken;
+            long now = System.currentTimeMillis();
+            if (token != null && token.isUsableAt(now)) {
+                tokenCacheHits.increment();
+                return token.value();
+            }
+
+            String value = createInterServiceJwtToken();
+            long lifetime = jwtUtil.extractExpiration(value).getTime() - now;
+            // Refresh ahead of expiry so a token never expires in flight; short-lived tokens refresh at half-life
+            long refreshAfter = lifetime > 2 * refreshBeforeExpiryMs ? lifetime - refreshBeforeExpiryMs : lifetime / 2;
+            cachedToken = new CachedToken(value, now + refreshAfter);
+            tokenRefreshes.increment();
+            return value;
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    private String createInterServiceJwtToken() {
         try {
             // Create a UserDetails object for the HR user
             UserDetails hrUser = User.builder()
@@ -0,0 +1,102 @@
+package com.company.employee.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    @AfterEach
+    void clearReadOnlyFlag() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() throws SQLException {
+        ReadReplicaRoutingDataSource routing = routing("");
+        when(replicaConnection.isValid(anyInt())).thenReturn(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        ReadReplicaRoutingDataSource routing = routing("SHOW REPLICA STATUS");
+        replicaReportsLag(30);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void replicaWithinLagLimitServesReads() throws SQLException {
+        ReadReplicaRoutingDataSource routing = routing("SHOW REPLICA STATUS");
+        replicaReportsLag(2);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void lagCheckIsBoundedByAQueryTimeout() throws SQLException {
+        ReadReplicaRoutingDataSource routing = routing("SHOW REPLICA STATUS");
+        Statement statement = replicaReportsLag(2);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.getConnection();
+        verify(statement).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() throws SQLException {
+        ReadReplicaRoutingDataSource routing = routing("");
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    private ReadReplicaRoutingDataSource routing(String lagQuery) throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, 5, 60_000, lagQuery);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private Statement replicaReportsLag(long seconds) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("Replica_IO_State");
+        when(metaData.getColumnLabel(2)).thenReturn("Seconds_Behind_Source");
+        when(rs.getLong(2)).thenReturn(seconds);
+        return statement;
+    }
+}
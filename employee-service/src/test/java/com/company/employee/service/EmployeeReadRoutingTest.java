@@ -0,0 +1,204 @@
+package com.company.employee.service;
+
+import com.company.employee.config.ReadReplicaRoutingDataSource;
+import com.company.employee.repository.EmployeeChangeRepository;
+import com.company.employee.repository.EmployeeJdbcRepository;
+import com.company.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.QueryHint;
+import jakarta.validation.Validator;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Which database each EmployeeService read runs on, through real transactions over the routing data source.
+// Lookups that fill the second-level cache must run on the primary; replica reads must not fill it.
+@SpringJUnitConfig(EmployeeReadRoutingTest.Config.class)
+class EmployeeReadRoutingTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Connection primaryConnection;
+
+    @Autowired
+    private Connection replicaConnection;
+
+    @BeforeEach
+    void queriesTouchTheConnection() throws SQLException {
+        when(replicaConnection.isValid(anyInt())).thenReturn(true);
+        // Stand-in for Hibernate running the query: fetches the connection the transaction is routed to
+        doAnswer(invocation -> query(Optional.empty())).when(employeeRepository).findById(any());
+        doAnswer(invocation -> query(Optional.empty())).when(employeeRepository).loadByEmployeeCode(any());
+        doAnswer(invocation -> query(Optional.empty())).when(employeeRepository).findByEmail(any());
+        doAnswer(invocation -> query(List.of())).when(employeeRepository).findByDepartment(any());
+        doAnswer(invocation -> query(List.of())).when(employeeRepository).findAll();
+        clearInvocations(primaryConnection, replicaConnection);
+    }
+
+    @Test
+    void byIdLookupRunsOnThePrimary() throws SQLException {
+        employeeService.getEmployeeById(1L);
+
+        verify(primaryConnection).createStatement();
+        verify(replicaConnection, never()).createStatement();
+    }
+
+    @Test
+    void cachedLookupsRunOnThePrimary() throws SQLException {
+        employeeService.getEmployeeByEmployeeCode("EMP1");
+        employeeService.getEmployeeByEmail("a@example.com");
+        employeeService.getEmployeesByDepartment("Engineering");
+
+        verify(replicaConnection, never()).createStatement();
+    }
+
+    @Test
+    void bulkReadsRunOnTheReplica() throws SQLException {
+        employeeService.getAllEmployees();
+
+        verify(replicaConnection).createStatement();
+        verify(primaryConnection, never()).createStatement();
+    }
+
+    @Test
+    void replicaReadsDoNotFillTheCache() throws NoSuchMethodException {
+        assertCacheModeGet(EmployeeRepository.class.getMethod("findAll"));
+        assertCacheModeGet(EmployeeRepository.class.getMethod("findAllById", Iterable.class));
+        assertCacheModeGet(EmployeeRepository.class.getMethod("findByIdGreaterThanOrderByIdAsc", Long.class, Limit.class));
+        assertCacheModeGet(EmployeeRepository.class.getMethod("findByDepartmentAndIdGreaterThanOrderByIdAsc",
+                String.class, Long.class, Limit.class));
+    }
+
+    // Repository methods run under SimpleJpaRepository's @Transactional(readOnly = true): they join the caller's
+    // transaction, or start a read-only one (routed to the replica) when there is none
+    private <T> T query(T result) {
+        TransactionTemplate repositoryTransaction = new TransactionTemplate(transactionManager);
+        repositoryTransaction.setReadOnly(true);
+        return repositoryTransaction.execute(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        });
+    }
+
+    private static void assertCacheModeGet(Method method) {
+        QueryHints hints = method.getAnnotation(QueryHints.class);
+        assertTrue(hints != null && Arrays.stream(hints.value()).anyMatch(EmployeeReadRoutingTest::isCacheModeGet),
+                method.getName() + " must not put rows read from the replica into the second-level cache");
+    }
+
+    private static boolean isCacheModeGet(QueryHint hint) {
+        return hint.name().equals(HibernateHints.HINT_CACHE_MODE) && hint.value().equals("GET");
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        Connection primaryConnection() {
+            return mock(Connection.class);
+        }
+
+        @Bean
+        Connection replicaConnection() {
+            return mock(Connection.class);
+        }
+
+        @Bean
+        DataSource dataSource(Connection primaryConnection, Connection replicaConnection) throws SQLException {
+            DataSource primary = mock(DataSource.class);
+            DataSource replica = mock(DataSource.class);
+            when(primary.getConnection()).thenReturn(primaryConnection);
+            when(replica.getConnection()).thenReturn(replicaConnection);
+            ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, 5, 60_000, "");
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        EmployeeService employeeService() {
+            return new EmployeeService();
+        }
+
+        @Bean
+        EmployeeRepository employeeRepository() {
+            return mock(EmployeeRepository.class);
+        }
+
+        @Bean
+        EmployeeJdbcRepository employeeJdbcRepository() {
+            return mock(EmployeeJdbcRepository.class);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate() {
+            return mock(JdbcTemplate.class);
+        }
+
+        @Bean
+        EmployeeChangeRepository employeeChangeRepository() {
+            return mock(EmployeeChangeRepository.class);
+        }
+
+        @Bean
+        Validator validator() {
+            return mock(Validator.class);
+        }
+
+        @Bean
+        EntityManagerFactory entityManagerFactory() {
+            return mock(EntityManagerFactory.class);
+        }
+    }
+}
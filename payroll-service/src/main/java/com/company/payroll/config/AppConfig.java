@@ -1,13 +1,75 @@
 package com.company.payroll.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
+
+    @Value("${interservice.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${interservice.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${interservice.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${interservice.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // How long a caller waits for a free pooled connection before failing
+    @Value("${interservice.http.pool-wait-timeout-ms:5000}")
+    private long poolWaitTimeoutMs;
+
+    @Value("${interservice.http.idle-eviction-ms:30000}")
+    private long idleEvictionMs;
+
+    // Keep-alive connection pool shared by all inter-service calls; pool state is published as
+    // httpcomponents.httpclient.pool.* metrics (leased, available, pending, max)
+    @Bean
+    public PoolingHttpClientConnectionManager interServiceConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "interservice").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    // Gzip/deflate response decompression is on by default in HttpClient 5
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient interServiceHttpClient(PoolingHttpClientConnectionManager interServiceConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(interServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient interServiceHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(interServiceHttpClient));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.company.payroll.controller;
+
+import com.company.payroll.entity.PayRule;
+import com.company.payroll.service.PayRuleEngine;
+import com.company.payroll.service.PayRulePlan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payroll/rules")
+public class PayRuleController {
+
+    @Autowired
+    private PayRuleEngine payRuleEngine;
+
+    // The rule set currently used for payroll calculations
+    @GetMapping("/active")
+    public ResponseEntity<PayRulePlan> getActivePlan() {
+        return ResponseEntity.ok(payRuleEngine.getPlan());
+    }
+
+    @GetMapping("/{ruleSet}")
+    public ResponseEntity<List<PayRule>> getRules(@PathVariable String ruleSet) {
+        return ResponseEntity.ok(payRuleEngine.getRules(ruleSet));
+    }
+
+    // Replace a rule set; when it is the active one the new rules apply immediately
+    @PutMapping("/{ruleSet}")
+    public ResponseEntity<List<PayRule>> replaceRules(@PathVariable String ruleSet, @RequestBody List<PayRule> rules) {
+        List<PayRule> saved = payRuleEngine.replaceRules(ruleSet, rules);
+        if (ruleSet.equals(payRuleEngine.getActiveRuleSet())) {
+            payRuleEngine.reload();
+        }
+        return ResponseEntity.ok(saved);
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<PayRulePlan> reload() {
+        return ResponseEntity.ok(payRuleEngine.reload());
+    }
+}
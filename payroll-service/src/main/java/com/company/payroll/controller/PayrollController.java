@@ -1,25 +1,64 @@
 package com.company.payroll.controller;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.PayrollSummary;
+import com.company.payroll.dto.PayrollSimulationRequest;
+import com.company.payroll.dto.PayrollSimulationResult;
+import com.company.payroll.dto.PayrollStatusTransitionRequest;
+import com.company.payroll.dto.PayrollStatusTransitionResult;
+import com.company.payroll.entity.PayrollJob;
 import com.company.payroll.entity.Salary;
 import com.company.payroll.enums.PayrollStatus;
+import com.company.payroll.exception.PreconditionFailedException;
+import com.company.payroll.service.EmployeeSnapshotCache;
+import com.company.payroll.service.PayrollAggregateService;
+import com.company.payroll.service.PayrollJobService;
 import com.company.payroll.service.PayrollService;
+import com.company.payroll.service.PayrollSimulationService;
 import com.company.payroll.service.PayrollSchedulerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/payroll")
 public class PayrollController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private PayrollService payrollService;
 
     @Autowired
     private PayrollSchedulerService payrollSchedulerService;
 
+    @Autowired
+    private PayrollJobService payrollJobService;
+
+    @Autowired
+    private PayrollSimulationService payrollSimulationService;
+
+    @Autowired
+    private PayrollAggregateService payrollAggregateService;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Create a new payroll record
     @PostMapping
     public ResponseEntity<Salary> generatePayroll(@Valid @RequestBody Salary salary) {
@@ -33,6 +72,31 @@ public class PayrollController {
         return ResponseEntity.ok(salaries);
     }
 
+    // Get payroll records one page at a time (keyset pagination on id)
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Salary>> getPayrollPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(payrollService.getPayrollPage(null, null, afterId, limit));
+    }
+
+    // Stream payroll records as newline-delimited JSON without loading them into memory
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamPayrolls(
+            @RequestParam(required = false) PayrollStatus status,
+            @RequestParam(required = false) Long employeeId) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> payrollService.streamPayrolls(status, employeeId, salary -> {
+            try {
+                out.write(writer.writeValueAsBytes(salary));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     // Get all payroll records for an employee (Hibernate/JPA)
     @GetMapping("/employee/{employeeId}")
     public ResponseEntity<List<Salary>> getPayrollByEmployeeId(@PathVariable Long employeeId) {
@@ -40,6 +104,14 @@ public class PayrollController {
         return ResponseEntity.ok(salaries);
     }
 
+    @GetMapping("/employee/{employeeId}/page")
+    public ResponseEntity<CursorPage<Salary>> getPayrollPageByEmployeeId(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(payrollService.getPayrollPage(null, employeeId, afterId, limit));
+    }
+
     // Get all payroll records for an employee (JDBC)
     @GetMapping("/employee/{employeeId}/jdbc")
     public ResponseEntity<List<Salary>> getPayrollByEmployeeIdJdbc(@PathVariable Long employeeId) {
@@ -53,26 +125,107 @@ public class PayrollController {
         return ResponseEntity.ok("Salaries deleted for employee: " + employeeCode);
     }
 
-    // Manual bulk payroll generation for all employees
+    // Drop cached employee details (called by employee-service when an employee is updated or deleted)
+    @DeleteMapping("/employee-cache/{employeeCode}")
+    public ResponseEntity<Void> evictCachedEmployee(@PathVariable String employeeCode) {
+        employeeSnapshotCache.invalidate(employeeCode);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/employee-cache")
+    public ResponseEntity<Void> evictAllCachedEmployees() {
+        employeeSnapshotCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Manual bulk payroll generation for all employees; runs in the background, poll the returned job
     @PostMapping("/bulk")
-    public ResponseEntity<String> generateBulkPayroll() {
-        String result = payrollSchedulerService.generateBulkPayroll();
-        return ResponseEntity.ok(result);
+    public ResponseEntity<PayrollJob> generateBulkPayroll() {
+        PayrollJob job = payrollSchedulerService.generateBulkPayroll();
+        return ResponseEntity.accepted().location(URI.create("/api/payroll/bulk/jobs/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/bulk/jobs")
+    public ResponseEntity<List<PayrollJob>> getRecentBulkJobs() {
+        return ResponseEntity.ok(payrollJobService.getRecentJobs());
+    }
+
+    @GetMapping("/bulk/jobs/{jobId}")
+    public ResponseEntity<PayrollJob> getBulkJob(@PathVariable Long jobId) {
+        return payrollJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/bulk/jobs/{jobId}/cancel")
+    public ResponseEntity<PayrollJob> cancelBulkJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(payrollJobService.cancel(jobId));
+    }
+    
+    // Dashboard totals per pay period, status and department, read from the maintained aggregates
+    @GetMapping("/summary")
+    public ResponseEntity<PayrollSummary> getPayrollSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate payPeriod) {
+        return ResponseEntity.ok(payrollAggregateService.getSummary(payPeriod));
+    }
+
+    // Recompute the aggregates from the salaries table
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<PayrollSummary> rebuildPayrollSummary() {
+        payrollAggregateService.rebuild();
+        return ResponseEntity.ok(payrollAggregateService.getSummary(null));
+    }
+
+    // What-if payroll totals by department; calculated in memory, nothing is saved
+    @PostMapping("/simulations")
+    public ResponseEntity<PayrollSimulationResult> simulatePayroll(@RequestBody PayrollSimulationRequest request) {
+        return ResponseEntity.ok(payrollSimulationService.simulate(request));
+    }
+    
+    // Get one payroll record; the ETag is its version, send it back as If-Match to update conditionally
+    @GetMapping("/{salaryId}")
+    public ResponseEntity<Salary> getPayroll(@PathVariable Long salaryId) {
+        return payrollService.getPayroll(salaryId)
+                .map(salary -> ResponseEntity.ok().eTag(String.valueOf(salary.getVersion())).body(salary))
+                .orElse(ResponseEntity.notFound().build());
     }
     
     // Status management endpoints
+    // With If-Match the update only applies if the record is still at that version (412 otherwise); 409 when
+    // a concurrent update commits first
     @PutMapping("/{salaryId}/status/{status}")
-    public ResponseEntity<Salary> updatePayrollStatus(@PathVariable Long salaryId, @PathVariable PayrollStatus status) {
-        Salary updatedSalary = payrollService.updatePayrollStatus(salaryId, status);
-        return ResponseEntity.ok(updatedSalary);
+    public ResponseEntity<Salary> updatePayrollStatus(
+            @PathVariable Long salaryId,
+            @PathVariable PayrollStatus status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Salary updatedSalary = payrollService.updatePayrollStatus(salaryId, status, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(updatedSalary.getVersion())).body(updatedSalary);
     }
     
+    // Move a whole pay period from one status to another, e.g. approve all drafts for a month
+    @PostMapping("/status/transitions")
+    public ResponseEntity<PayrollStatusTransitionResult> transitionPayrollStatus(
+            @Valid @RequestBody PayrollStatusTransitionRequest request) {
+        int updated = payrollService.transitionPayrollStatus(request.getPayPeriod(), request.getFromStatus(),
+                request.getToStatus());
+        return ResponseEntity.ok(new PayrollStatusTransitionResult(request.getPayPeriod(), request.getFromStatus(),
+                request.getToStatus(), updated));
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Salary>> getPayrollsByStatus(@PathVariable PayrollStatus status) {
         List<Salary> payrolls = payrollService.getPayrollsByStatus(status);
         return ResponseEntity.ok(payrolls);
     }
     
+    @GetMapping("/status/{status}/page")
+    public ResponseEntity<CursorPage<Salary>> getPayrollPageByStatus(
+            @PathVariable PayrollStatus status,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(payrollService.getPayrollPage(status, null, afterId, limit));
+    }
+    
     @GetMapping("/employee/{employeeCode}/status/{status}")
     public ResponseEntity<List<Salary>> getPayrollsByEmployeeAndStatus(
             @PathVariable String employeeCode, 
@@ -80,4 +233,21 @@ public class PayrollController {
         List<Salary> payrolls = payrollService.getPayrollsByEmployeeAndStatus(employeeCode, status);
         return ResponseEntity.ok(payrolls);
     }
-}
\ No newline at end of file
+
+    // If-Match holds the version from an earlier ETag ("3"); "*" or no header means any version. If-Match
+    // uses strong comparison, so a weak tag (W/"3") never matches.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak entity tags cannot be used with If-Match: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
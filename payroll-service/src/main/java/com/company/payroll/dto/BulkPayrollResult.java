@@ -0,0 +1,158 @@
+package com.company.payroll.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkPayrollResult {
+    // Keep the response small when a whole department fails for the same reason
+    private static final int MAX_ERRORS = 100;
+
+    private LocalDate payPeriod;
+    private int totalEmployees;
+    private int totalChunks;
+    private int committedChunks;
+    private int resumedChunks;
+    private int failedChunks;
+    // Employees in chunks skipped because an earlier run already committed them
+    private int resumedEmployees;
+    private int processed;
+    private int skipped;
+    private int failed;
+    private long elapsedMillis;
+    private double employeesPerSecond;
+    private boolean cancelled;
+    private List<String> errors = new ArrayList<>();
+
+    public BulkPayrollResult() {}
+
+    public BulkPayrollResult(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public void addError(String error) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    public String getSummary() {
+        return String.format("Bulk payroll for %s: processed %d, skipped %d, failed %d employees; "
+                + "%d/%d chunks committed (%d resumed, %d failed) in %d ms (%.1f employees/sec)",
+                payPeriod, processed, skipped, failed, committedChunks + resumedChunks, totalChunks,
+                resumedChunks, failedChunks, elapsedMillis, employeesPerSecond)
+                + (cancelled ? " - cancelled before all chunks were started" : "");
+    }
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public int getResumedChunks() {
+        return resumedChunks;
+    }
+
+    public void setResumedChunks(int resumedChunks) {
+        this.resumedChunks = resumedChunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public int getResumedEmployees() {
+        return resumedEmployees;
+    }
+
+    public void setResumedEmployees(int resumedEmployees) {
+        this.resumedEmployees = resumedEmployees;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getEmployeesPerSecond() {
+        return employeesPerSecond;
+    }
+
+    public void setEmployeesPerSecond(double employeesPerSecond) {
+        this.employeesPerSecond = employeesPerSecond;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextCursor as afterId to fetch the following page
+public class CursorPage<T> {
+    private List<T> content;
+    private Long nextCursor;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> content, Long nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.payroll.dto;
+
+// One event from the employee-service change feed. employee is the current state for CREATED/UPDATED
+// events and null for DELETED (or when the employee has been deleted since).
+public class EmployeeChangeDTO {
+    private Long version;
+    private String changeType;
+    private Long employeeId;
+    private String employeeCode;
+    private EmployeeDTO employee;
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public EmployeeDTO getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(EmployeeDTO employee) {
+        this.employee = employee;
+    }
+}
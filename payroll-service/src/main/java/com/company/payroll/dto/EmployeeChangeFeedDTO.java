@@ -0,0 +1,33 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+public class EmployeeChangeFeedDTO {
+    private List<EmployeeChangeDTO> changes;
+    private Long lastVersion;
+    private boolean hasMore;
+
+    public List<EmployeeChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<EmployeeChangeDTO> changes) {
+        this.changes = changes;
+    }
+
+    public Long getLastVersion() {
+        return lastVersion;
+    }
+
+    public void setLastVersion(Long lastVersion) {
+        this.lastVersion = lastVersion;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
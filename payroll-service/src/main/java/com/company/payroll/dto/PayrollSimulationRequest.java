@@ -0,0 +1,58 @@
+package com.company.payroll.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// What-if payroll run: salary raises by department/position and, optionally, a different pay rule set
+public class PayrollSimulationRequest {
+    // Rule set to calculate with; the active one when empty
+    private String ruleSet;
+    private List<Adjustment> adjustments = new ArrayList<>();
+
+    public String getRuleSet() {
+        return ruleSet;
+    }
+
+    public void setRuleSet(String ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public List<Adjustment> getAdjustments() {
+        return adjustments;
+    }
+
+    public void setAdjustments(List<Adjustment> adjustments) {
+        this.adjustments = adjustments;
+    }
+
+    // A raise of basic salary; empty department/position match everyone. The first matching adjustment applies.
+    public static class Adjustment {
+        private String department;
+        private String position;
+        private double raisePercent;
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public void setDepartment(String department) {
+            this.department = department;
+        }
+
+        public String getPosition() {
+            return position;
+        }
+
+        public void setPosition(String position) {
+            this.position = position;
+        }
+
+        public double getRaisePercent() {
+            return raisePercent;
+        }
+
+        public void setRaisePercent(double raisePercent) {
+            this.raisePercent = raisePercent;
+        }
+    }
+}
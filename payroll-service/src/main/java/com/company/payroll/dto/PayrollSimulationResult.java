@@ -0,0 +1,148 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+public class PayrollSimulationResult {
+    private String ruleSet;
+    private long rosterVersion;
+    private long elapsedMillis;
+    private DepartmentTotals total;
+    private List<DepartmentTotals> departments;
+
+    public PayrollSimulationResult() {}
+
+    public PayrollSimulationResult(String ruleSet, long rosterVersion, long elapsedMillis,
+                                   DepartmentTotals total, List<DepartmentTotals> departments) {
+        this.ruleSet = ruleSet;
+        this.rosterVersion = rosterVersion;
+        this.elapsedMillis = elapsedMillis;
+        this.total = total;
+        this.departments = departments;
+    }
+
+    public String getRuleSet() {
+        return ruleSet;
+    }
+
+    public void setRuleSet(String ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public long getRosterVersion() {
+        return rosterVersion;
+    }
+
+    public void setRosterVersion(long rosterVersion) {
+        this.rosterVersion = rosterVersion;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public DepartmentTotals getTotal() {
+        return total;
+    }
+
+    public void setTotal(DepartmentTotals total) {
+        this.total = total;
+    }
+
+    public List<DepartmentTotals> getDepartments() {
+        return departments;
+    }
+
+    public void setDepartments(List<DepartmentTotals> departments) {
+        this.departments = departments;
+    }
+
+    // Simulated totals next to the same roster calculated without the adjustments
+    public static class DepartmentTotals {
+        private String department;
+        private int employees;
+        private int failed;
+        private double basic;
+        private double allowances;
+        private double deductions;
+        private double net;
+        // Today's net and the change to it, over the employees that calculate without errors in both runs
+        private double currentNet;
+        private double netChange;
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public void setDepartment(String department) {
+            this.department = department;
+        }
+
+        public int getEmployees() {
+            return employees;
+        }
+
+        public void setEmployees(int employees) {
+            this.employees = employees;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public void setFailed(int failed) {
+            this.failed = failed;
+        }
+
+        public double getBasic() {
+            return basic;
+        }
+
+        public void setBasic(double basic) {
+            this.basic = basic;
+        }
+
+        public double getAllowances() {
+            return allowances;
+        }
+
+        public void setAllowances(double allowances) {
+            this.allowances = allowances;
+        }
+
+        public double getDeductions() {
+            return deductions;
+        }
+
+        public void setDeductions(double deductions) {
+            this.deductions = deductions;
+        }
+
+        public double getNet() {
+            return net;
+        }
+
+        public void setNet(double net) {
+            this.net = net;
+        }
+
+        public double getCurrentNet() {
+            return currentNet;
+        }
+
+        public void setCurrentNet(double currentNet) {
+            this.currentNet = currentNet;
+        }
+
+        public double getNetChange() {
+            return netChange;
+        }
+
+        public void setNetChange(double netChange) {
+            this.netChange = netChange;
+        }
+    }
+}
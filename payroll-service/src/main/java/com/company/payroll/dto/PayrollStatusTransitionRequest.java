@@ -0,0 +1,41 @@
+package com.company.payroll.dto;
+
+import com.company.payroll.enums.PayrollStatus;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+// Move every payroll record of a pay period from one status to the next, e.g. all DRAFT to APPROVED
+public class PayrollStatusTransitionRequest {
+    @NotNull(message = "Pay period is required")
+    private LocalDate payPeriod;
+
+    @NotNull(message = "Current status is required")
+    private PayrollStatus fromStatus;
+
+    @NotNull(message = "New status is required")
+    private PayrollStatus toStatus;
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public PayrollStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(PayrollStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public PayrollStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(PayrollStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.payroll.dto;
+
+import com.company.payroll.enums.PayrollStatus;
+import java.time.LocalDate;
+
+public class PayrollStatusTransitionResult {
+    private LocalDate payPeriod;
+    private PayrollStatus fromStatus;
+    private PayrollStatus toStatus;
+    private int updated;
+
+    public PayrollStatusTransitionResult() {}
+
+    public PayrollStatusTransitionResult(LocalDate payPeriod, PayrollStatus fromStatus, PayrollStatus toStatus, int updated) {
+        this.payPeriod = payPeriod;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.updated = updated;
+    }
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public PayrollStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(PayrollStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public PayrollStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(PayrollStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.payroll.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class PayrollSummary {
+    // Null when the summary covers every pay period
+    private LocalDate payPeriod;
+    private Totals total;
+    private List<Totals> byPayPeriod;
+    private List<Totals> byStatus;
+    private List<Totals> byDepartment;
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public Totals getTotal() {
+        return total;
+    }
+
+    public void setTotal(Totals total) {
+        this.total = total;
+    }
+
+    public List<Totals> getByPayPeriod() {
+        return byPayPeriod;
+    }
+
+    public void setByPayPeriod(List<Totals> byPayPeriod) {
+        this.byPayPeriod = byPayPeriod;
+    }
+
+    public List<Totals> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(List<Totals> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public List<Totals> getByDepartment() {
+        return byDepartment;
+    }
+
+    public void setByDepartment(List<Totals> byDepartment) {
+        this.byDepartment = byDepartment;
+    }
+
+    // Count, totals and average net salary for one group (the key is the period, status or department)
+    public static class Totals {
+        private String key;
+        private long count;
+        private double basic;
+        private double allowances;
+        private double deductions;
+        private double net;
+        private double averageNet;
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getBasic() {
+            return basic;
+        }
+
+        public void setBasic(double basic) {
+            this.basic = basic;
+        }
+
+        public double getAllowances() {
+            return allowances;
+        }
+
+        public void setAllowances(double allowances) {
+            this.allowances = allowances;
+        }
+
+        public double getDeductions() {
+            return deductions;
+        }
+
+        public void setDeductions(double deductions) {
+            this.deductions = deductions;
+        }
+
+        public double getNet() {
+            return net;
+        }
+
+        public void setNet(double net) {
+            this.net = net;
+        }
+
+        public double getAverageNet() {
+            return averageNet;
+        }
+
+        public void setAverageNet(double averageNet) {
+            this.averageNet = averageNet;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.company.payroll.entity;
+
+import com.company.payroll.enums.PayComponent;
+import com.company.payroll.enums.PayRuleType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+// One allowance or deduction rule of a named rule set. Department and position narrow the employees
+// the rule applies to; leave them empty to apply it to everyone.
+@Entity
+@Table(name = "pay_rules", indexes = {
+    @Index(name = "idx_pay_rules_rule_set", columnList = "rule_set")
+})
+public class PayRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Rule set is required")
+    @Column(name = "rule_set", nullable = false)
+    private String ruleSet;
+
+    @NotNull(message = "Component is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayComponent component;
+
+    @NotNull(message = "Rule type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayRuleType type;
+
+    private String department;
+    private String position;
+
+    // Percentage in basis points (2000 = 20%) for PERCENT_OF_BASIC and SLAB rules
+    @PositiveOrZero(message = "Rate cannot be negative")
+    private Long rateBasisPoints;
+
+    // For FIXED_AMOUNT rules
+    @PositiveOrZero(message = "Amount cannot be negative")
+    private Double amount;
+
+    // Band of basic salary a SLAB rule applies to; an empty upper bound means no limit
+    @PositiveOrZero(message = "Slab start cannot be negative")
+    private Double slabFrom;
+    private Double slabTo;
+
+    // Most this rule can contribute; empty means no cap
+    @PositiveOrZero(message = "Cap cannot be negative")
+    private Double cap;
+
+    private boolean enabled = true;
+
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRuleSet() {
+        return ruleSet;
+    }
+
+    public void setRuleSet(String ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public PayComponent getComponent() {
+        return component;
+    }
+
+    public void setComponent(PayComponent component) {
+        this.component = component;
+    }
+
+    public PayRuleType getType() {
+        return type;
+    }
+
+    public void setType(PayRuleType type) {
+        this.type = type;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+    }
+
+    public Long getRateBasisPoints() {
+        return rateBasisPoints;
+    }
+
+    public void setRateBasisPoints(Long rateBasisPoints) {
+        this.rateBasisPoints = rateBasisPoints;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+
+    public Double getSlabFrom() {
+        return slabFrom;
+    }
+
+    public void setSlabFrom(Double slabFrom) {
+        this.slabFrom = slabFrom;
+    }
+
+    public Double getSlabTo() {
+        return slabTo;
+    }
+
+    public void setSlabTo(Double slabTo) {
+        this.slabTo = slabTo;
+    }
+
+    public Double getCap() {
+        return cap;
+    }
+
+    public void setCap(Double cap) {
+        this.cap = cap;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.payroll.entity;
+
+import com.company.payroll.enums.PayrollStatus;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Running payroll totals for one pay period, status and department, kept in step with the salaries table
+// (see PayrollAggregateService). Amounts are in minor units so the increments are exact.
+@Entity
+@Table(name = "payroll_aggregates",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payroll_aggregates_period_status_department",
+                columnNames = {"pay_period", "status", "department"})
+    })
+public class PayrollAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate payPeriod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollStatus status;
+
+    // Empty for salaries saved before the department was recorded on them
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    @Column(nullable = false)
+    private long salaryCount;
+
+    @Column(nullable = false)
+    private long totalBasic;
+
+    @Column(nullable = false)
+    private long totalAllowances;
+
+    @Column(nullable = false)
+    private long totalDeductions;
+
+    @Column(nullable = false)
+    private long totalNet;
+
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public PayrollStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PayrollStatus status) {
+        this.status = status;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public long getSalaryCount() {
+        return salaryCount;
+    }
+
+    public void setSalaryCount(long salaryCount) {
+        this.salaryCount = salaryCount;
+    }
+
+    public long getTotalBasic() {
+        return totalBasic;
+    }
+
+    public void setTotalBasic(long totalBasic) {
+        this.totalBasic = totalBasic;
+    }
+
+    public long getTotalAllowances() {
+        return totalAllowances;
+    }
+
+    public void setTotalAllowances(long totalAllowances) {
+        this.totalAllowances = totalAllowances;
+    }
+
+    public long getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    public void setTotalDeductions(long totalDeductions) {
+        this.totalDeductions = totalDeductions;
+    }
+
+    public long getTotalNet() {
+        return totalNet;
+    }
+
+    public void setTotalNet(long totalNet) {
+        this.totalNet = totalNet;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
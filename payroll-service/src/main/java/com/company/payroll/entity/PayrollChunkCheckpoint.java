@@ -0,0 +1,129 @@
+package com.company.payroll.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Marks a bulk payroll chunk as committed so a re-run for the same pay period can skip it
+@Entity
+@Table(name = "payroll_chunk_checkpoints")
+public class PayrollChunkCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate payPeriod;
+
+    @Column(nullable = false)
+    private Integer chunkIndex;
+
+    // The chunk is identified by its employee id range and size, so a changed roster re-runs the chunk
+    @Column(nullable = false)
+    private Long firstEmployeeId;
+
+    @Column(nullable = false)
+    private Long lastEmployeeId;
+
+    @Column(nullable = false)
+    private Integer employeeCount;
+
+    private Integer processed;
+    private Integer skipped;
+
+    private LocalDateTime committedAt = LocalDateTime.now();
+
+    public PayrollChunkCheckpoint() {}
+
+    public PayrollChunkCheckpoint(LocalDate payPeriod, Integer chunkIndex, Long firstEmployeeId,
+                                  Long lastEmployeeId, Integer employeeCount, Integer processed, Integer skipped) {
+        this.payPeriod = payPeriod;
+        this.chunkIndex = chunkIndex;
+        this.firstEmployeeId = firstEmployeeId;
+        this.lastEmployeeId = lastEmployeeId;
+        this.employeeCount = employeeCount;
+        this.processed = processed;
+        this.skipped = skipped;
+        this.committedAt = LocalDateTime.now();
+    }
+
+    public static String chunkKey(Long firstEmployeeId, Long lastEmployeeId, int employeeCount) {
+        return firstEmployeeId + "-" + lastEmployeeId + "-" + employeeCount;
+    }
+
+    public String getChunkKey() {
+        return chunkKey(firstEmployeeId, lastEmployeeId, employeeCount);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public Long getFirstEmployeeId() {
+        return firstEmployeeId;
+    }
+
+    public void setFirstEmployeeId(Long firstEmployeeId) {
+        this.firstEmployeeId = firstEmployeeId;
+    }
+
+    public Long getLastEmployeeId() {
+        return lastEmployeeId;
+    }
+
+    public void setLastEmployeeId(Long lastEmployeeId) {
+        this.lastEmployeeId = lastEmployeeId;
+    }
+
+    public Integer getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(Integer employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public Integer getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(Integer processed) {
+        this.processed = processed;
+    }
+
+    public Integer getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(Integer skipped) {
+        this.skipped = skipped;
+    }
+
+    public LocalDateTime getCommittedAt() {
+        return committedAt;
+    }
+
+    public void setCommittedAt(LocalDateTime committedAt) {
+        this.committedAt = committedAt;
+    }
+}
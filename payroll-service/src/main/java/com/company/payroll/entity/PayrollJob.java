@@ -0,0 +1,238 @@
+package com.company.payroll.entity;
+
+import com.company.payroll.enums.PayrollJobStatus;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A bulk payroll run submitted through the API or the scheduler. The work is split into shards
+// (PayrollJobShard) that payroll-service nodes claim; the counts here are the totals over all shards.
+@Entity
+@Table(name = "payroll_jobs", indexes = {
+    @Index(name = "idx_payroll_jobs_status", columnList = "status")
+})
+public class PayrollJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate payPeriod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollJobStatus status = PayrollJobStatus.QUEUED;
+
+    // Roster size when known up front (null when the roster is paged from employee-service)
+    private Integer expectedEmployees;
+
+    private int totalEmployees;
+    private int processed;
+    private int skipped;
+    private int failed;
+    private int resumedEmployees;
+    private int totalChunks;
+    private int committedChunks;
+    private int resumedChunks;
+    private int failedChunks;
+    private double employeesPerSecond;
+
+    // Written only by PayrollJobRepository.requestCancel, so saving a job read earlier cannot clear it
+    @Column(updatable = false)
+    private boolean cancelRequested;
+
+    // The roster is split into this many shards, which nodes claim independently
+    private int shardCount = 1;
+
+    @Column(length = 2000)
+    private String message;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public PayrollJob() {}
+
+    public PayrollJob(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Estimated seconds left, from the current rate; null until there is a rate and a known roster size
+    public Long getEtaSeconds() {
+        if (!status.isActive() || expectedEmployees == null || employeesPerSecond <= 0) {
+            return null;
+        }
+        int remaining = expectedEmployees - processed - skipped - failed - resumedEmployees;
+        return Math.max(0, Math.round(remaining / employeesPerSecond));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getPayPeriod() {
+        return payPeriod;
+    }
+
+    public void setPayPeriod(LocalDate payPeriod) {
+        this.payPeriod = payPeriod;
+    }
+
+    public PayrollJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PayrollJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getExpectedEmployees() {
+        return expectedEmployees;
+    }
+
+    public void setExpectedEmployees(Integer expectedEmployees) {
+        this.expectedEmployees = expectedEmployees;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getResumedEmployees() {
+        return resumedEmployees;
+    }
+
+    public void setResumedEmployees(int resumedEmployees) {
+        this.resumedEmployees = resumedEmployees;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public int getResumedChunks() {
+        return resumedChunks;
+    }
+
+    public void setResumedChunks(int resumedChunks) {
+        this.resumedChunks = resumedChunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public double getEmployeesPerSecond() {
+        return employeesPerSecond;
+    }
+
+    public void setEmployeesPerSecond(double employeesPerSecond) {
+        this.employeesPerSecond = employeesPerSecond;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,221 @@
+package com.company.payroll.entity;
+
+import com.company.payroll.enums.PayrollShardStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One slice of a payroll job's roster (employees whose code hashes to shardIndex). A node works on a
+// shard while it holds the shard's lease; if the node dies the lease expires and another node resumes it.
+@Entity
+@Table(name = "payroll_job_shards", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payroll_job_shards_job_shard", columnNames = {"job_id", "shard_index"})
+})
+public class PayrollJobShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "shard_index", nullable = false)
+    private int shardIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PayrollShardStatus status = PayrollShardStatus.PENDING;
+
+    private String owner;
+    private LocalDateTime leaseExpiresAt;
+    private int attempts;
+
+    private Integer expectedEmployees;
+    private int totalEmployees;
+    private int processed;
+    private int skipped;
+    private int failed;
+    private int resumedEmployees;
+    private int totalChunks;
+    private int committedChunks;
+    private int resumedChunks;
+    private int failedChunks;
+    private double employeesPerSecond;
+
+    // Set when the shard stopped on an error. Such a shard is DONE (not run again) and its job ends FAILED.
+    @Column(length = 2000)
+    private String error;
+
+    private LocalDateTime updatedAt;
+
+    public PayrollJobShard() {}
+
+    public PayrollJobShard(Long jobId, int shardIndex) {
+        this.jobId = jobId;
+        this.shardIndex = shardIndex;
+    }
+
+    // Shard an employee belongs to when the roster is split into shardCount parts
+    public static int shardFor(String employeeCode, int shardCount) {
+        return shardCount <= 1 ? 0 : Math.floorMod(employeeCode.hashCode(), shardCount);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public PayrollShardStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PayrollShardStatus status) {
+        this.status = status;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Integer getExpectedEmployees() {
+        return expectedEmployees;
+    }
+
+    public void setExpectedEmployees(Integer expectedEmployees) {
+        this.expectedEmployees = expectedEmployees;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getResumedEmployees() {
+        return resumedEmployees;
+    }
+
+    public void setResumedEmployees(int resumedEmployees) {
+        this.resumedEmployees = resumedEmployees;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(int committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public int getResumedChunks() {
+        return resumedChunks;
+    }
+
+    public void setResumedChunks(int resumedChunks) {
+        this.resumedChunks = resumedChunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public double getEmployeesPerSecond() {
+        return employeesPerSecond;
+    }
+
+    public void setEmployeesPerSecond(double employeesPerSecond) {
+        this.employeesPerSecond = employeesPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
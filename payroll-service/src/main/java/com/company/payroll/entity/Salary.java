@@ -7,7 +7,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "salaries")
+@Table(name = "salaries",
+    uniqueConstraints = {
+        // One payslip per employee per pay period, enforced by the database
+        @UniqueConstraint(name = "uk_salaries_employee_code_pay_period", columnNames = {"employee_code", "pay_period"})
+    },
+    indexes = {
+        @Index(name = "idx_salaries_employee_id", columnList = "employee_id"),
+        @Index(name = "idx_salaries_employee_code_status", columnList = "employee_code, status"),
+        @Index(name = "idx_salaries_pay_period_status", columnList = "pay_period, status"),
+        @Index(name = "idx_salaries_status", columnList = "status")
+    })
 public class Salary {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +59,16 @@ public class Salary {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PayrollStatus status = PayrollStatus.DRAFT;
+
+    // Employee's department when the payroll was generated (groups the payroll aggregates)
+    @Size(max = 100, message = "Department cannot exceed 100 characters")
+    @Column(length = 100)
+    private String department;
+
+    // Optimistic lock: every update checks and bumps it, and it is sent to clients as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -148,6 +168,22 @@ public class Salary {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
     // Getters and setters (generate using your IDE)
     
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.company.payroll.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A named lease held by one payroll-service node until it expires (see ClusterLeaseService)
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.company.payroll.enums;
+
+public enum PayComponent {
+    ALLOWANCE,
+    DEDUCTION
+}
@@ -0,0 +1,10 @@
+package com.company.payroll.enums;
+
+public enum PayRuleType {
+    // rateBasisPoints of basic salary
+    PERCENT_OF_BASIC,
+    // a fixed amount
+    FIXED_AMOUNT,
+    // rateBasisPoints of the part of basic salary between slabFrom and slabTo (progressive tax slabs)
+    SLAB
+}
@@ -0,0 +1,13 @@
+package com.company.payroll.enums;
+
+public enum PayrollJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
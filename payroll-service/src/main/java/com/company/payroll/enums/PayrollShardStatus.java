@@ -0,0 +1,7 @@
+package com.company.payroll.enums;
+
+public enum PayrollShardStatus {
+    PENDING,
+    RUNNING,
+    DONE
+}
@@ -15,4 +15,13 @@ public enum PayrollStatus {
     public String getDisplayName() {
         return displayName;
     }
+
+    // Draft payroll is approved or cancelled, approved payroll is paid or cancelled; paid and cancelled are final
+    public boolean canTransitionTo(PayrollStatus target) {
+        return switch (this) {
+            case DRAFT -> target == APPROVED || target == CANCELLED;
+            case APPROVED -> target == PAID || target == CANCELLED;
+            case PAID, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,9 @@
+package com.company.payroll.exception;
+
+// The client's If-Match no longer matches the record (answered with 412 Precondition Failed)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
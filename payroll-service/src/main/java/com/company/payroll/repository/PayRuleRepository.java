@@ -0,0 +1,13 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PayRuleRepository extends JpaRepository<PayRule, Long> {
+    List<PayRule> findByRuleSetOrderByIdAsc(String ruleSet);
+    List<PayRule> findByRuleSetAndEnabledTrueOrderByIdAsc(String ruleSet);
+    void deleteByRuleSet(String ruleSet);
+}
@@ -0,0 +1,51 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollAggregate;
+import com.company.payroll.enums.PayrollStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Aggregates are changed with atomic increments so concurrent writers never overwrite each other's totals
+@Repository
+public interface PayrollAggregateRepository extends JpaRepository<PayrollAggregate, Long> {
+    List<PayrollAggregate> findByPayPeriod(LocalDate payPeriod);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PayrollAggregate> findWithLockByPayPeriodAndStatus(LocalDate payPeriod, PayrollStatus status);
+
+    // Add (or with negative values subtract) to one bucket, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO payroll_aggregates "
+            + "(pay_period, status, department, salary_count, total_basic, total_allowances, total_deductions, total_net, updated_at) "
+            + "VALUES (:payPeriod, :status, :department, :count, :basic, :allowances, :deductions, :net, NOW(6)) "
+            + "ON DUPLICATE KEY UPDATE salary_count = salary_count + VALUES(salary_count), "
+            + "total_basic = total_basic + VALUES(total_basic), "
+            + "total_allowances = total_allowances + VALUES(total_allowances), "
+            + "total_deductions = total_deductions + VALUES(total_deductions), "
+            + "total_net = total_net + VALUES(total_net), updated_at = NOW(6)", nativeQuery = true)
+    int increment(@Param("payPeriod") LocalDate payPeriod, @Param("status") String status,
+                  @Param("department") String department, @Param("count") long count, @Param("basic") long basic,
+                  @Param("allowances") long allowances, @Param("deductions") long deductions, @Param("net") long net);
+
+    @Modifying
+    @Query(value = "DELETE FROM payroll_aggregates", nativeQuery = true)
+    int deleteAllRows();
+
+    // Recompute every bucket from the salaries table (amounts are stored with two decimals)
+    @Modifying
+    @Query(value = "INSERT INTO payroll_aggregates "
+            + "(pay_period, status, department, salary_count, total_basic, total_allowances, total_deductions, total_net, updated_at) "
+            + "SELECT pay_period, status, COALESCE(department, ''), COUNT(*), "
+            + "SUM(ROUND(basic_salary * 100)), SUM(ROUND(COALESCE(allowances, 0) * 100)), "
+            + "SUM(ROUND(COALESCE(deductions, 0) * 100)), SUM(ROUND(net_salary * 100)), NOW(6) "
+            + "FROM salaries GROUP BY pay_period, status, COALESCE(department, '')", nativeQuery = true)
+    int rebuildFromSalaries();
+}
@@ -0,0 +1,13 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollChunkCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PayrollChunkCheckpointRepository extends JpaRepository<PayrollChunkCheckpoint, Long> {
+    List<PayrollChunkCheckpoint> findByPayPeriod(LocalDate payPeriod);
+    void deleteByPayPeriod(LocalDate payPeriod);
+}
@@ -0,0 +1,48 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollJob;
+import com.company.payroll.enums.PayrollJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Status changes are conditional updates, so nodes acting on the same job at once cannot undo each other
+@Repository
+public interface PayrollJobRepository extends JpaRepository<PayrollJob, Long> {
+    List<PayrollJob> findByStatusInOrderByIdAsc(Collection<PayrollJobStatus> statuses);
+    Optional<PayrollJob> findFirstByPayPeriodAndStatusIn(LocalDate payPeriod, Collection<PayrollJobStatus> statuses);
+    List<PayrollJob> findTop20ByOrderByIdDesc();
+
+    // Returns 0 when the job has already finished
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE payroll_jobs SET cancel_requested = true, updated_at = NOW(6) "
+            + "WHERE id = :id AND status IN ('QUEUED', 'RUNNING')", nativeQuery = true)
+    int requestCancel(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE payroll_jobs SET status = 'CANCELLED', message = :message, finished_at = NOW(6), "
+            + "updated_at = NOW(6) WHERE id = :id AND status = 'QUEUED'", nativeQuery = true)
+    int cancelQueued(@Param("id") Long id, @Param("message") String message);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE payroll_jobs SET status = 'RUNNING', started_at = NOW(6), updated_at = NOW(6) "
+            + "WHERE id = :id AND status = 'QUEUED'", nativeQuery = true)
+    int start(@Param("id") Long id);
+
+    // Only one caller gets 1 back and goes on to write the final figures
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE payroll_jobs SET status = :status, finished_at = NOW(6), updated_at = NOW(6) "
+            + "WHERE id = :id AND status IN ('QUEUED', 'RUNNING')", nativeQuery = true)
+    int markFinished(@Param("id") Long id, @Param("status") String status);
+}
@@ -0,0 +1,47 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollJobShard;
+import com.company.payroll.enums.PayrollShardStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+// Shard leases use the database clock, like scheduler_leases
+@Repository
+public interface PayrollJobShardRepository extends JpaRepository<PayrollJobShard, Long> {
+    List<PayrollJobShard> findByJobIdOrderByShardIndexAsc(Long jobId);
+
+    long countByJobIdAndStatusNot(Long jobId, PayrollShardStatus status);
+
+    // Shards some node is still working on (running, with a lease that has not expired)
+    @Query(value = "SELECT COUNT(*) FROM payroll_job_shards "
+            + "WHERE job_id = :jobId AND status = 'RUNNING' AND lease_expires_at >= NOW(6)", nativeQuery = true)
+    long countLiveShards(@Param("jobId") Long jobId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<PayrollJobShard> findWithLockById(Long id);
+
+    // Claim a shard that nobody is working on, or whose owner stopped renewing its lease
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE payroll_job_shards SET status = 'RUNNING', owner = :owner, attempts = attempts + 1, "
+            + "lease_expires_at = TIMESTAMPADD(MICROSECOND, :ttlMillis * 1000, NOW(6)) "
+            + "WHERE id = :id AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_expires_at < NOW(6)))",
+            nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+
+    // Returns 0 when the lease has been lost to another node
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE payroll_job_shards SET lease_expires_at = TIMESTAMPADD(MICROSECOND, :ttlMillis * 1000, NOW(6)) "
+            + "WHERE id = :id AND owner = :owner AND status = 'RUNNING'", nativeQuery = true)
+    int renew(@Param("id") Long id, @Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+}
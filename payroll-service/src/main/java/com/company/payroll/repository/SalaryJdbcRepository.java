@@ -1,33 +1,125 @@
 package com.company.payroll.repository;
 
 import com.company.payroll.entity.Salary;
+import com.company.payroll.enums.PayrollStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Repository
 public class SalaryJdbcRepository {
 
+    // Rows per JDBC batch; with rewriteBatchedStatements=true each batch goes out as one multi-row INSERT
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO salaries "
+            + "(employee_id, employee_code, basic_salary, allowances, deductions, net_salary, pay_period, status, department, version, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    private static final RowMapper<Salary> SALARY_ROW_MAPPER = (rs, rowNum) -> {
+        Salary s = new Salary();
+        s.setId(rs.getLong("id"));
+        s.setEmployeeId(rs.getLong("employee_id"));
+        s.setEmployeeCode(rs.getString("employee_code"));
+        s.setBasicSalary(rs.getDouble("basic_salary"));
+        // NULL stays null, as when JPA loads the row (getDouble would turn it into 0.0)
+        s.setAllowances(rs.getObject("allowances", Double.class));
+        s.setDeductions(rs.getObject("deductions", Double.class));
+        s.setNetSalary(rs.getObject("net_salary", Double.class));
+        s.setPayPeriod(rs.getDate("pay_period").toLocalDate());
+        s.setStatus(PayrollStatus.valueOf(rs.getString("status")));
+        s.setDepartment(rs.getString("department"));
+        s.setVersion(rs.getLong("version"));
+        s.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return s;
+    };
+
     // Get all salaries for an employee using JDBC
     public List<Salary> findSalariesByEmployeeId(Long employeeId) {
         String sql = "SELECT * FROM salaries WHERE employee_id = ?";
-        return jdbcTemplate.query(sql, new Object[]{employeeId},
-            (rs, rowNum) -> {
-                Salary s = new Salary();
-                s.setId(rs.getLong("id"));
-                s.setEmployeeId(rs.getLong("employee_id"));
-                s.setEmployeeCode(rs.getString("employee_code"));
-                s.setBasicSalary(rs.getDouble("basic_salary"));
-                s.setAllowances(rs.getDouble("allowances"));
-                s.setDeductions(rs.getDouble("deductions"));
-                s.setNetSalary(rs.getDouble("net_salary"));
-                s.setPayPeriod(rs.getDate("pay_period").toLocalDate());
-                s.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                return s;
+        return jdbcTemplate.query(sql, SALARY_ROW_MAPPER, employeeId);
+    }
+
+    // Stream salaries in id order, optionally filtered by status and/or employee, one row at a time.
+    // The forward-only result set with Integer.MIN_VALUE fetch size makes MySQL Connector/J stream rows
+    // instead of buffering the whole result, so memory stays flat however large the table is.
+    public void streamSalaries(PayrollStatus status, Long employeeId, Consumer<Salary> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM salaries WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (employeeId != null) {
+            sql.append(" AND employee_id = ?");
+            args.add(employeeId);
+        }
+        sql.append(" ORDER BY id");
+
+        jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(Integer.MIN_VALUE);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            },
+            rs -> {
+                consumer.accept(SALARY_ROW_MAPPER.mapRow(rs, 0));
             });
     }
-}
\ No newline at end of file
+
+    // Employee codes that already have a salary for the pay period, loaded in one query and
+    // streamed straight into a set for constant-time duplicate checks
+    public Set<String> findEmployeeCodesByPayPeriod(LocalDate payPeriod) {
+        Set<String> employeeCodes = new HashSet<>();
+        jdbcTemplate.query("SELECT employee_code FROM salaries WHERE pay_period = ?",
+            rs -> {
+                employeeCodes.add(rs.getString(1));
+            },
+            Date.valueOf(payPeriod));
+        return employeeCodes;
+    }
+
+    // Insert many salaries with JDBC batching (IDENTITY ids make Hibernate insert one row per round-trip).
+    // Generated ids are not read back.
+    public void insertAll(List<Salary> salaries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, salaries, INSERT_BATCH_SIZE, (ps, s) -> {
+            ps.setLong(1, s.getEmployeeId());
+            ps.setString(2, s.getEmployeeCode());
+            ps.setDouble(3, s.getBasicSalary());
+            if (s.getAllowances() != null) {
+                ps.setDouble(4, s.getAllowances());
+            } else {
+                ps.setNull(4, Types.DOUBLE);
+            }
+            if (s.getDeductions() != null) {
+                ps.setDouble(5, s.getDeductions());
+            } else {
+                ps.setNull(5, Types.DOUBLE);
+            }
+            ps.setDouble(6, s.getNetSalary());
+            ps.setDate(7, Date.valueOf(s.getPayPeriod()));
+            ps.setString(8, s.getStatus().name());
+            ps.setString(9, s.getDepartment());
+            ps.setTimestamp(10, Timestamp.valueOf(s.getCreatedAt()));
+        });
+    }
+}
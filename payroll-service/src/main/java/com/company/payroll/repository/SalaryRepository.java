@@ -2,7 +2,11 @@ package com.company.payroll.repository;
 
 import com.company.payroll.entity.Salary;
 import com.company.payroll.enums.PayrollStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
@@ -20,4 +24,17 @@ public interface SalaryRepository extends JpaRepository<Salary, Long> {
     List<Salary> findByStatus(PayrollStatus status);
     List<Salary> findByEmployeeCodeAndStatus(String employeeCode, PayrollStatus status);
     List<Salary> findByPayPeriodAndStatus(LocalDate payPeriod, PayrollStatus status);
+
+    // Set-based status change for a whole pay period; only rows still in fromStatus are touched. The version is
+    // bumped like any other update so clients holding an older copy get a conflict.
+    @Modifying
+    @Query("UPDATE Salary s SET s.status = :toStatus, s.version = s.version + 1 "
+            + "WHERE s.payPeriod = :payPeriod AND s.status = :fromStatus")
+    int updateStatusByPayPeriod(@Param("payPeriod") LocalDate payPeriod, @Param("fromStatus") PayrollStatus fromStatus,
+                                @Param("toStatus") PayrollStatus toStatus);
+
+    // Keyset pagination: rows after the given id, in id order
+    List<Salary> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<Salary> findByStatusAndIdGreaterThanOrderByIdAsc(PayrollStatus status, Long afterId, Limit limit);
+    List<Salary> findByEmployeeIdAndIdGreaterThanOrderByIdAsc(Long employeeId, Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// Lease expiry is computed with the database clock so nodes with skewed clocks agree on it
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO scheduler_leases (name, owner, expires_at) "
+            + "VALUES (:name, :owner, TIMESTAMPADD(MICROSECOND, :ttlMillis * 1000, NOW(6)))", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+
+    // Take the lease over if it has expired, or extend it if we already hold it
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, expires_at = TIMESTAMPADD(MICROSECOND, :ttlMillis * 1000, NOW(6)) "
+            + "WHERE name = :name AND (owner = :owner OR expires_at < NOW(6))", nativeQuery = true)
+    int acquireIfExpired(@Param("name") String name, @Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE scheduler_leases SET expires_at = NOW(6) WHERE name = :name AND owner = :owner", nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
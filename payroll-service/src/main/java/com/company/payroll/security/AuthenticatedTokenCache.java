@@ -0,0 +1,66 @@
+package com.company.payroll.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers bearer tokens that already passed signature verification, mapped to the user they
+ * authenticate, so repeated requests with the same token skip the crypto and the user lookup.
+ * Size-bounded, and an entry never outlives the token's exp claim.
+ */
+@Component
+public class AuthenticatedTokenCache {
+
+    private record VerifiedToken(UserDetails user, long expiresAtMillis) {}
+
+    private final Cache<String, VerifiedToken> cache;
+
+    // Upper bound on how long a verified token is trusted without re-checking, even if exp is later
+    private final long maxTtlMillis;
+
+    public AuthenticatedTokenCache(@Value("${jwt.auth-cache.max-size:10000}") long maxSize,
+                                   @Value("${jwt.auth-cache.max-ttl-ms:300000}") long maxTtlMillis) {
+        this.maxTtlMillis = maxTtlMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                        long remainingMillis = verified.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, verified, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // Returns the user for a previously verified, still valid token, or null
+    public UserDetails get(String token) {
+        VerifiedToken verified = cache.getIfPresent(token);
+        if (verified == null || verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return verified.user();
+    }
+
+    public void put(String token, UserDetails user, Date tokenExpiration) {
+        long expiresAt = Math.min(tokenExpiration.getTime(), System.currentTimeMillis() + maxTtlMillis);
+        cache.put(token, new VerifiedToken(user, expiresAt));
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.payroll.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,41 +25,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private AuthenticatedTokenCache authenticatedTokenCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain chain) throws ServletException, IOException {
         
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
         String jwtToken = null;
+        UserDetails cachedUser = null;
+        Claims claims = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (Exception e) {
-                logger.error("Unable to get JWT Token or token expired", e);
-                // Don't stop the filter chain, just log and continue
+            // A token verified by an earlier request skips signature verification and the user lookup
+            cachedUser = authenticatedTokenCache.get(jwtToken);
+            if (cachedUser == null) {
+                try {
+                    // Signature and expiry are verified here, once per request
+                    claims = jwtUtil.validateAndGetClaims(jwtToken);
+                } catch (Exception e) {
+                    logger.error("Unable to get JWT Token or token expired", e);
+                    // Don't stop the filter chain, just log and continue
+                }
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (cachedUser != null) {
+                authenticate(cachedUser, request);
+            } else if (claims != null) {
+                try {
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
 
-                if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    if (jwtUtil.validateClaims(claims, userDetails)) {
+                        authenticatedTokenCache.put(jwtToken, userDetails, claims.getExpiration());
+                        authenticate(userDetails, request);
+                    }
+                } catch (Exception e) {
+                    logger.error("Cannot set user authentication", e);
+                    // Don't stop the filter chain, just log and continue
                 }
-            } catch (Exception e) {
-                logger.error("Cannot set user authentication", e);
-                // Don't stop the filter chain, just log and continue
             }
         }
         chain.doFilter(request, response);
     }
+
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = 
+            new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
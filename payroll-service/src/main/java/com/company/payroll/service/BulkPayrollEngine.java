@@ -0,0 +1,284 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.BulkPayrollResult;
+import com.company.payroll.dto.EmployeeDTO;
+import com.company.payroll.entity.PayrollChunkCheckpoint;
+import com.company.payroll.entity.Salary;
+import com.company.payroll.repository.PayrollChunkCheckpointRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Generates payroll for a whole roster in fixed-size chunks. Chunks are computed on a worker pool
+ * and each one commits in its own transaction together with a checkpoint, so a failed run can be
+ * re-run for the same pay period and only redoes the chunks that did not commit.
+ */
+@Service
+public class BulkPayrollEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkPayrollEngine.class);
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollChunkCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ColumnarPayrollCalculator columnarCalculator;
+
+    @Value("${payroll.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${payroll.bulk.workers:4}")
+    private int workers;
+
+    // Calculate each chunk column-wise instead of one Salary at a time (same results)
+    @Value("${payroll.bulk.columnar:false}")
+    private boolean columnar;
+
+    // With virtual threads each chunk gets its own thread and only the semaphore limits how many run at once
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Run over a roster that is already in memory
+    public BulkPayrollResult run(List<EmployeeDTO> roster, LocalDate payPeriod) {
+        List<EmployeeDTO> employees = roster.stream()
+                .sorted(Comparator.comparing(EmployeeDTO::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        return run(List.of(employees).iterator(), payPeriod);
+    }
+
+    // Run over a roster delivered page by page in employee id order. Only a bounded number of chunks is
+    // held at once: the next page is pulled when a worker slot frees up, so the roster is never fully in heap.
+    public BulkPayrollResult run(Iterator<List<EmployeeDTO>> rosterPages, LocalDate payPeriod) {
+        return run(rosterPages, payPeriod, new BulkPayrollResult(payPeriod), () -> false);
+    }
+
+    // Run with a caller-owned result that is updated as chunks finish (read it under synchronized(result)).
+    // Once cancelled returns true no further chunks are started; chunks already running still commit and
+    // are checkpointed, so a later run for the period carries on from there.
+    public BulkPayrollResult run(Iterator<List<EmployeeDTO>> rosterPages, LocalDate payPeriod,
+                                 BulkPayrollResult result, BooleanSupplier cancelled) {
+        long startNanos = System.nanoTime();
+
+        // Stable id ordering keeps chunk boundaries identical between a failed run and its resume
+        Set<String> committedChunks = checkpointRepository.findByPayPeriod(payPeriod).stream()
+                .map(PayrollChunkCheckpoint::getChunkKey)
+                .collect(Collectors.toSet());
+
+        // One query for the whole period; duplicates are then a set lookup instead of a SELECT per employee
+        Set<String> paidEmployeeCodes = payrollService.getPaidEmployeeCodes(payPeriod);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Platform pool: up to one queued chunk per worker. Virtual threads: permits are the concurrency limit
+        // (keep it within the JDBC connection pool, every running chunk holds a connection).
+        int maxInFlight = virtualThreads ? Math.max(1, workers) : Math.max(1, workers) * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Math.max(1, workers));
+
+        int chunkIndex = 0;
+        List<EmployeeDTO> chunk = new ArrayList<>(chunkSize);
+        try {
+            while (rosterPages.hasNext() && !cancelled.getAsBoolean()) {
+                for (EmployeeDTO employee : rosterPages.next()) {
+                    chunk.add(employee);
+                    if (chunk.size() == chunkSize) {
+                        if (cancelled.getAsBoolean()) {
+                            break;
+                        }
+                        submitChunk(chunk, chunkIndex++, payPeriod, result, committedChunks, paidEmployeeCodes,
+                                transactionTemplate, executor, inFlight);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (cancelled.getAsBoolean()) {
+                synchronized (result) {
+                    result.setCancelled(true);
+                }
+            } else if (!chunk.isEmpty()) {
+                submitChunk(chunk, chunkIndex++, payPeriod, result, committedChunks, paidEmployeeCodes,
+                        transactionTemplate, executor, inFlight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk payroll generation was interrupted", e);
+        } finally {
+            // Wait for the chunks already running; whatever they commit is checkpointed for the next run
+            inFlight.acquireUninterruptibly(maxInFlight);
+            executor.shutdown();
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        synchronized (result) {
+            result.setTotalChunks(chunkIndex);
+            result.setElapsedMillis(elapsedNanos / 1_000_000);
+            int handled = result.getProcessed() + result.getSkipped() + result.getFailed();
+            result.setEmployeesPerSecond(elapsedNanos > 0 ? handled * 1_000_000_000.0 / elapsedNanos : 0);
+        }
+
+        logger.info(result.getSummary());
+        return result;
+    }
+
+    private void submitChunk(List<EmployeeDTO> chunk, int chunkIndex, LocalDate payPeriod, BulkPayrollResult result,
+                             Set<String> committedChunks, Set<String> paidEmployeeCodes,
+                             TransactionTemplate transactionTemplate, ExecutorService executor,
+                             Semaphore inFlight) throws InterruptedException {
+        synchronized (result) {
+            result.setTotalEmployees(result.getTotalEmployees() + chunk.size());
+            if (committedChunks.contains(chunkKey(chunk))) {
+                result.setResumedChunks(result.getResumedChunks() + 1);
+                result.setResumedEmployees(result.getResumedEmployees() + chunk.size());
+                return;
+            }
+        }
+
+        inFlight.acquire();
+        try {
+            executor.execute(() -> {
+                try {
+                    ChunkOutcome outcome = processChunk(transactionTemplate, chunk, chunkIndex, payPeriod, paidEmployeeCodes);
+                    synchronized (result) {
+                        result.setProcessed(result.getProcessed() + outcome.processed);
+                        result.setSkipped(result.getSkipped() + outcome.skipped);
+                        result.setFailed(result.getFailed() + outcome.failed);
+                        if (outcome.committed) {
+                            result.setCommittedChunks(result.getCommittedChunks() + 1);
+                        } else {
+                            result.setFailedChunks(result.getFailedChunks() + 1);
+                        }
+                        outcome.errors.forEach(result::addError);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private ChunkOutcome processChunk(TransactionTemplate transactionTemplate, List<EmployeeDTO> chunk,
+                                      int chunkIndex, LocalDate payPeriod, Set<String> paidEmployeeCodes) {
+        ChunkOutcome outcome = new ChunkOutcome();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Salary> prepared = new ArrayList<>(chunk.size());
+                List<EmployeeDTO> toCalculate = new ArrayList<>(chunk.size());
+                for (EmployeeDTO employee : chunk) {
+                    if (paidEmployeeCodes.contains(employee.getEmployeeCode())) {
+                        outcome.skipped++;
+                    } else {
+                        toCalculate.add(employee);
+                    }
+                }
+
+                if (columnar) {
+                    PayrollColumns columns = columnarCalculator.calculate(toCalculate, payPeriod);
+                    for (int row = 0; row < columns.size(); row++) {
+                        try {
+                            if (!columns.isValid(row)) {
+                                throw new RuntimeException(columns.getError(row));
+                            }
+                            Salary salary = columns.toSalary(row, payPeriod);
+                            checkConstraints(salary);
+                            prepared.add(salary);
+                        } catch (Exception e) {
+                            outcome.failed++;
+                            outcome.errors.add("Failed to process employee " + columns.getEmployeeCode(row) + ": " + e.getMessage());
+                        }
+                    }
+                } else {
+                    for (EmployeeDTO employee : toCalculate) {
+                        try {
+                            Salary salary = new Salary();
+                            salary.setEmployeeId(employee.getId());
+                            salary.setEmployeeCode(employee.getEmployeeCode());
+                            salary.setPayPeriod(payPeriod);
+
+                            payrollService.preparePayroll(salary, employee);
+                            checkConstraints(salary);
+                            prepared.add(salary);
+                        } catch (Exception e) {
+                            outcome.failed++;
+                            outcome.errors.add("Failed to process employee " + employee.getEmployeeCode() + ": " + e.getMessage());
+                        }
+                    }
+                }
+
+                // One batched write for the whole chunk instead of a round-trip per row
+                payrollService.savePayrollBatch(prepared);
+                outcome.processed = prepared.size();
+
+                // Only fully successful chunks are checkpointed, so failed employees are retried on resume
+                if (outcome.failed == 0) {
+                    checkpointRepository.save(new PayrollChunkCheckpoint(payPeriod, chunkIndex,
+                            chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId(), chunk.size(),
+                            outcome.processed, outcome.skipped));
+                }
+            });
+            outcome.committed = true;
+        } catch (Exception e) {
+            // The chunk transaction rolled back, nothing from it was saved
+            logger.error("Payroll chunk {} for {} rolled back", chunkIndex, payPeriod, e);
+            outcome.errors.add("Chunk " + chunkIndex + " rolled back: " + e.getMessage());
+            outcome.processed = 0;
+            outcome.skipped = 0;
+            outcome.failed = chunk.size();
+            outcome.committed = false;
+        }
+        return outcome;
+    }
+
+    // The JDBC batch insert bypasses the entity validation JPA runs on persist
+    private void checkConstraints(Salary salary) {
+        Set<ConstraintViolation<Salary>> violations = validator.validate(salary);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static String chunkKey(List<EmployeeDTO> chunk) {
+        return PayrollChunkCheckpoint.chunkKey(chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId(), chunk.size());
+    }
+
+    private static class ChunkOutcome {
+        private int processed;
+        private int skipped;
+        private int failed;
+        private boolean committed;
+        private final List<String> errors = new ArrayList<>();
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.payroll.service;
+
+import com.company.payroll.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Database-backed leases in payroll_db so that work scheduled on every payroll-service node runs on
+ * only one of them. A lease is taken with a conditional insert/update and is free again once it expires.
+ */
+@Service
+public class ClusterLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterLeaseService.class);
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Value("${payroll.cluster.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId != null && !configuredNodeId.isBlank()) {
+            nodeId = configuredNodeId;
+        } else {
+            // Hostname for readability, random suffix so two instances on one host stay distinct
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "payroll";
+            }
+            nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        logger.info("Payroll node id: {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // True if this node now holds the lease (newly taken, taken over after expiry, or extended)
+    public boolean tryAcquire(String name, Duration ttl) {
+        return leaseRepository.insertIfAbsent(name, nodeId, ttl.toMillis()) == 1
+                || leaseRepository.acquireIfExpired(name, nodeId, ttl.toMillis()) == 1;
+    }
+
+    public void release(String name) {
+        leaseRepository.release(name, nodeId);
+    }
+}
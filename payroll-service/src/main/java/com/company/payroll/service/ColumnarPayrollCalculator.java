@@ -0,0 +1,120 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.EmployeeDTO;
+import com.company.payroll.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates payroll for many employees at once. Basic salaries are loaded into primitive columns, employees
+ * are grouped by department and position, and each pay rule is applied to a whole group in one tight loop.
+ * Uses the same long minor-unit arithmetic, rule plan and validation messages as
+ * PayrollService.generatePayroll(), so results are identical to calculating employees one by one.
+ */
+@Component
+public class ColumnarPayrollCalculator {
+
+    // Changes an employee's basic salary (in minor units) before the calculation, for what-if runs
+    @FunctionalInterface
+    public interface BasicSalaryAdjustment {
+        long adjust(EmployeeDTO employee, long basicMinor);
+    }
+
+    @Autowired
+    private PayRuleEngine payRuleEngine;
+
+    public PayrollColumns calculate(List<EmployeeDTO> employees, LocalDate payPeriod) {
+        return calculate(employees, payPeriod, payRuleEngine.getPlan());
+    }
+
+    public PayrollColumns calculate(List<EmployeeDTO> employees, LocalDate payPeriod, PayRulePlan rules) {
+        return calculate(employees, payPeriod, rules, (employee, basicMinor) -> basicMinor);
+    }
+
+    public PayrollColumns calculate(List<EmployeeDTO> employees, LocalDate payPeriod, PayRulePlan rules,
+                                    BasicSalaryAdjustment adjustment) {
+        int size = employees.size();
+        PayrollColumns columns = new PayrollColumns(size);
+        Long[] employeeIds = columns.employeeIds();
+        String[] employeeCodes = columns.employeeCodes();
+        String[] departments = columns.departments();
+        long[] basic = columns.basic();
+        long[] allowances = columns.allowances();
+        long[] deductions = columns.deductions();
+        long[] net = columns.net();
+        String[] errors = columns.errors();
+
+        // Load the columns and group rows that share a department and position (and so the same rules)
+        Map<String, Map<String, RowGroup>> groups = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            EmployeeDTO employee = employees.get(row);
+            employeeIds[row] = employee.getId();
+            employeeCodes[row] = employee.getEmployeeCode();
+            departments[row] = employee.getDepartment();
+            if (employee.getEmployeeCode() == null || employee.getEmployeeCode().trim().isEmpty()) {
+                errors[row] = "Employee code is required";
+                continue;
+            }
+            if (employee.getBasicSalary() == null) {
+                errors[row] = "Basic salary is not set for employee " + employee.getEmployeeCode();
+                continue;
+            }
+            basic[row] = adjustment.adjust(employee, Money.toMinor(employee.getBasicSalary()));
+            groups.computeIfAbsent(employee.getDepartment(), d -> new HashMap<>())
+                    .computeIfAbsent(employee.getPosition(), p -> new RowGroup(employee.getDepartment(), p))
+                    .add(row);
+        }
+
+        for (Map<String, RowGroup> byPosition : groups.values()) {
+            for (RowGroup group : byPosition.values()) {
+                rules.evaluateColumns(group.department, group.position, basic, group.rows, group.count, allowances, deductions);
+            }
+        }
+
+        for (int row = 0; row < size; row++) {
+            net[row] = basic[row] + allowances[row] - deductions[row];
+        }
+
+        // Same checks, in the same order, as PayrollService.validateSalaryData
+        String periodError = payPeriod != null && payPeriod.isBefore(LocalDate.now().minusYears(2))
+                ? "Pay period cannot be older than 2 years" : null;
+        for (int row = 0; row < size; row++) {
+            if (errors[row] != null) {
+                continue;
+            }
+            if (periodError != null) {
+                errors[row] = periodError;
+            } else if (allowances[row] > basic[row]) {
+                errors[row] = "Allowances cannot exceed basic salary";
+            } else if (deductions[row] > basic[row] + allowances[row]) {
+                errors[row] = "Deductions cannot exceed total earnings (basic + allowances)";
+            }
+        }
+        return columns;
+    }
+
+    private static final class RowGroup {
+        private final String department;
+        private final String position;
+        private int[] rows = new int[16];
+        private int count;
+
+        RowGroup(String department, String position) {
+            this.department = department;
+            this.position = position;
+        }
+
+        void add(int row) {
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = row;
+        }
+    }
+}
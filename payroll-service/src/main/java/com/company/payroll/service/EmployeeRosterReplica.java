@@ -0,0 +1,153 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.EmployeeChangeDTO;
+import com.company.payroll.dto.EmployeeChangeFeedDTO;
+import com.company.payroll.dto.EmployeeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local copy of the employee roster kept current from the employee-service change feed. The first sync
+ * copies the roster page by page; after that only changes since the last seen version are pulled, so a
+ * payroll run reads its roster from memory instead of downloading it.
+ */
+@Component
+public class EmployeeRosterReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeRosterReplica.class);
+
+    private static final String DELETED = "DELETED";
+
+    @Autowired
+    private EmployeeServiceClient employeeServiceClient;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Value("${payroll.roster-replica.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payroll.roster-replica.batch-size:500}")
+    private int batchSize;
+
+    // Change versions are auto-increment ids, and a transaction holding a lower id can commit after a higher
+    // one has been read. Re-reading a window behind the last version picks those up; replaying is idempotent.
+    @Value("${payroll.roster-replica.overlap-versions:100}")
+    private long overlapVersions;
+
+    @Value("${payroll.bulk.roster-page-size:1000}")
+    private int rosterPageSize;
+
+    private final Map<Long, EmployeeDTO> employeesById = new ConcurrentHashMap<>();
+
+    private volatile long version;
+
+    private volatile boolean ready;
+
+    // A lock rather than synchronized: sync() does HTTP calls and must not pin a virtual carrier thread
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    @Scheduled(initialDelayString = "${payroll.roster-replica.initial-delay-ms:10000}",
+               fixedDelayString = "${payroll.roster-replica.sync-interval-ms:60000}")
+    public void scheduledSync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sync();
+        } catch (Exception e) {
+            logger.warn("Employee roster sync failed: {}", e.getMessage());
+        }
+    }
+
+    // Bring the replica up to date: a full copy the first time, only the changes after that
+    public void sync() {
+        syncLock.lock();
+        try {
+            if (!ready) {
+                bootstrap();
+            }
+            pullChanges();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Current roster ordered by employee id
+    public List<EmployeeDTO> snapshot() {
+        return employeesById.values().stream()
+                .sorted(Comparator.comparing(EmployeeDTO::getId))
+                .toList();
+    }
+
+    private void bootstrap() {
+        // Take the version before copying; changes made during the copy are replayed by the first pull
+        long startVersion = employeeServiceClient.getLatestChangeVersion();
+        employeesById.clear();
+        Iterator<List<EmployeeDTO>> pages = employeeServiceClient.getEmployeePages(rosterPageSize);
+        while (pages.hasNext()) {
+            pages.next().forEach(employee -> employeesById.put(employee.getId(), employee));
+        }
+        version = startVersion;
+        ready = true;
+        logger.info("Employee roster replica loaded {} employees at version {}", employeesById.size(), startVersion);
+    }
+
+    private void pullChanges() {
+        long since = Math.max(0, version - overlapVersions);
+        int applied = 0;
+        EmployeeChangeFeedDTO feed;
+        do {
+            feed = employeeServiceClient.getChangesSince(since, batchSize);
+            for (EmployeeChangeDTO change : feed.getChanges()) {
+                apply(change);
+                applied++;
+            }
+            since = feed.getLastVersion();
+        } while (feed.isHasMore());
+
+        version = Math.max(version, since);
+        if (applied > 0) {
+            logger.debug("Applied {} employee changes, replica at version {}", applied, version);
+        }
+    }
+
+    private void apply(EmployeeChangeDTO change) {
+        EmployeeDTO previous;
+        if (DELETED.equals(change.getChangeType()) || change.getEmployee() == null) {
+            previous = employeesById.remove(change.getEmployeeId());
+            employeeSnapshotCache.invalidate(change.getEmployeeCode());
+        } else {
+            EmployeeDTO employee = change.getEmployee();
+            previous = employeesById.put(employee.getId(), employee);
+            employeeSnapshotCache.put(employee);
+        }
+        // The employee code can change on update; drop the entry cached under the old one
+        if (previous != null && !previous.getEmployeeCode().equals(change.getEmployeeCode())) {
+            employeeSnapshotCache.invalidate(previous.getEmployeeCode());
+        }
+    }
+}
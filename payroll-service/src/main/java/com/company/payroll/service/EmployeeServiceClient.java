@@ -1,14 +1,25 @@
 package com.company.payroll.service;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.EmployeeChangeFeedDTO;
 import com.company.payroll.dto.EmployeeDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 @Service
 public class EmployeeServiceClient {
 
+    private static final ParameterizedTypeReference<CursorPage<EmployeeDTO>> EMPLOYEE_PAGE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
     @Autowired
     private JwtInterServiceClient jwtInterServiceClient;
 
@@ -16,7 +27,15 @@ public class EmployeeServiceClient {
     @Value("${employee.service.url:http://localhost:8081/api/employees}")
     private String employeeServiceUrl;
 
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
     public EmployeeDTO getEmployeeByCode(String employeeCode) {
+        EmployeeDTO cached = employeeSnapshotCache.get(employeeCode);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             String url = employeeServiceUrl + "/code/" + employeeCode;
 
@@ -26,9 +45,50 @@ public class EmployeeServiceClient {
                 throw new RuntimeException("Employee service returned null response for employee code: " + employeeCode);
             }
             
+            employeeSnapshotCache.put(response.getBody());
             return response.getBody();
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch employee with code: " + employeeCode + ". Error: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    // Fetch one keyset page of the roster (employees ordered by id)
+    public CursorPage<EmployeeDTO> getEmployeePage(Long afterId, int limit) {
+        String url = employeeServiceUrl + "/page?limit=" + limit + (afterId != null ? "&afterId=" + afterId : "");
+        ResponseEntity<CursorPage<EmployeeDTO>> response = jwtInterServiceClient.getWithJwt(url, EMPLOYEE_PAGE_TYPE);
+        if (response.getBody() == null) {
+            throw new RuntimeException("Employee service returned null response for roster page after id: " + afterId);
+        }
+        return response.getBody();
+    }
+
+    // Walk the whole roster page by page; each page is fetched only when the previous one has been consumed.
+    // Pages also warm the employee snapshot cache.
+    public Iterator<List<EmployeeDTO>> getEmployeePages(int pageSize) {
+        return Stream.iterate(getEmployeePage(null, pageSize), Objects::nonNull,
+                        page -> page.isLast() ? null : getEmployeePage(page.getNextCursor(), pageSize))
+                .map(page -> {
+                    employeeSnapshotCache.putAll(page.getContent());
+                    return page.getContent();
+                })
+                .iterator();
+    }
+
+    // Fetch employee changes recorded after the given change feed version
+    public EmployeeChangeFeedDTO getChangesSince(long sinceVersion, int limit) {
+        String url = employeeServiceUrl + "/changes?since=" + sinceVersion + "&limit=" + limit;
+        ResponseEntity<EmployeeChangeFeedDTO> response = jwtInterServiceClient.getWithJwt(url, EmployeeChangeFeedDTO.class);
+        if (response.getBody() == null) {
+            throw new RuntimeException("Employee service returned null response for changes since version: " + sinceVersion);
+        }
+        return response.getBody();
+    }
+
+    public long getLatestChangeVersion() {
+        ResponseEntity<Long> response = jwtInterServiceClient.getWithJwt(employeeServiceUrl + "/changes/latest", Long.class);
+        if (response.getBody() == null) {
+            throw new RuntimeException("Employee service returned null response for latest change version");
+        }
+        return response.getBody();
+    }
+}
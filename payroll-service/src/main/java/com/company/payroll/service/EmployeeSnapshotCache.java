@@ -0,0 +1,58 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.EmployeeDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Local copy of employee records keyed by employee code, so payroll requests do not call
+ * employee-service every time. Entries expire after a TTL, the cache is size-bounded, and
+ * employee-service pushes evictions when an employee is updated or deleted.
+ * Hit, miss and eviction counts are published as cache.* metrics named "employeeSnapshots".
+ */
+@Component
+public class EmployeeSnapshotCache {
+
+    private final Cache<String, EmployeeDTO> cache;
+
+    public EmployeeSnapshotCache(@Value("${payroll.employee-cache.max-size:50000}") long maxSize,
+                                 @Value("${payroll.employee-cache.ttl-minutes:60}") long ttlMinutes,
+                                 MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employeeSnapshots");
+    }
+
+    public EmployeeDTO get(String employeeCode) {
+        return cache.getIfPresent(employeeCode);
+    }
+
+    public void put(EmployeeDTO employee) {
+        if (employee.getEmployeeCode() != null) {
+            cache.put(employee.getEmployeeCode(), employee);
+        }
+    }
+
+    // Warm the cache from a roster page fetched for a bulk run
+    public void putAll(List<EmployeeDTO> employees) {
+        employees.forEach(this::put);
+    }
+
+    public void invalidate(String employeeCode) {
+        cache.invalidate(employeeCode);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
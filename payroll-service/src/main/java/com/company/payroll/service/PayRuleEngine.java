@@ -0,0 +1,132 @@
+package com.company.payroll.service;
+
+import com.company.payroll.entity.PayRule;
+import com.company.payroll.repository.PayRuleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the compiled plan of the active pay rule set. Rules are read from pay_rules (falling back to the
+ * configured flat rates when the set has none), compiled once and swapped in atomically, so rule changes
+ * apply without a restart and payroll calculations never see a half-loaded rule set.
+ */
+@Service
+public class PayRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayRuleEngine.class);
+
+    @Autowired
+    private PayRuleRepository payRuleRepository;
+
+    @Value("${payroll.rules.active-set:default}")
+    private String activeRuleSet;
+
+    @Value("${payroll.rules.default-allowance-basis-points:2000}")
+    private long defaultAllowanceBasisPoints;
+
+    @Value("${payroll.rules.default-deduction-basis-points:1000}")
+    private long defaultDeductionBasisPoints;
+
+    private final AtomicReference<PayRulePlan> currentPlan = new AtomicReference<>();
+
+    // Compiled inactive rule sets (for simulations); dropped when a set is replaced and on every refresh
+    private final Map<String, PayRulePlan> compiledRuleSets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public PayRulePlan getPlan() {
+        return currentPlan.get();
+    }
+
+    public String getActiveRuleSet() {
+        return activeRuleSet;
+    }
+
+    // Compile the active rule set and swap it in; on error the previous plan stays in place
+    public PayRulePlan reload() {
+        PayRulePlan plan = load();
+        logger.info("Loaded pay rule set '{}' ({} rules from {})", plan.getRuleSet(), plan.getRuleCount(), plan.getSource());
+        return plan;
+    }
+
+    // Pick up rule changes made through another node or directly in the database
+    @Scheduled(fixedDelayString = "${payroll.rules.refresh-ms:60000}", initialDelayString = "${payroll.rules.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (Exception e) {
+            logger.warn("Could not reload pay rules, keeping rule set compiled at {}: {}",
+                    currentPlan.get().getCompiledAt(), e.getMessage());
+        }
+    }
+
+    private PayRulePlan load() {
+        List<PayRule> rules = payRuleRepository.findByRuleSetAndEnabledTrueOrderByIdAsc(activeRuleSet);
+        PayRulePlan plan = rules.isEmpty()
+                ? PayRulePlan.defaults(activeRuleSet, defaultAllowanceBasisPoints, defaultDeductionBasisPoints)
+                : PayRulePlan.compile(activeRuleSet, rules);
+        currentPlan.set(plan);
+        compiledRuleSets.clear();
+        return plan;
+    }
+
+    // Compile any rule set without activating it (what-if simulations)
+    public PayRulePlan compileRuleSet(String ruleSet) {
+        if (ruleSet == null || ruleSet.equals(activeRuleSet)) {
+            return getPlan();
+        }
+        PayRulePlan cached = compiledRuleSets.get(ruleSet);
+        if (cached != null) {
+            return cached;
+        }
+        List<PayRule> rules = payRuleRepository.findByRuleSetAndEnabledTrueOrderByIdAsc(ruleSet);
+        if (rules.isEmpty()) {
+            throw new RuntimeException("Pay rule set not found: " + ruleSet);
+        }
+        PayRulePlan plan = PayRulePlan.compile(ruleSet, rules);
+        compiledRuleSets.put(ruleSet, plan);
+        return plan;
+    }
+
+    public List<PayRule> getRules(String ruleSet) {
+        return payRuleRepository.findByRuleSetOrderByIdAsc(ruleSet);
+    }
+
+    // Replace all rules of a rule set. The rules are compiled first, so an invalid set is rejected
+    // before anything is written (disabled rules too, since they can be enabled later).
+    @Transactional
+    public List<PayRule> replaceRules(String ruleSet, List<PayRule> rules) {
+        PayRulePlan.compile(ruleSet, rules);
+        payRuleRepository.deleteByRuleSet(ruleSet);
+        for (PayRule rule : rules) {
+            rule.setId(null);
+            rule.setRuleSet(ruleSet);
+            rule.setUpdatedAt(LocalDateTime.now());
+        }
+        // After commit, so a simulation running meanwhile cannot cache the old rules again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                compiledRuleSets.remove(ruleSet);
+            }
+        });
+        return payRuleRepository.saveAll(rules);
+    }
+}
@@ -0,0 +1,242 @@
+package com.company.payroll.service;
+
+import com.company.payroll.entity.PayRule;
+import com.company.payroll.enums.PayComponent;
+import com.company.payroll.enums.PayRuleType;
+import com.company.payroll.util.Money;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A pay rule set compiled into an immutable evaluation plan. The rules that apply to every
+ * department/position combination are resolved up front into primitive arrays, so evaluating an
+ * employee is two map lookups and a loop over longs, with no allocation.
+ */
+public final class PayRulePlan {
+
+    // Key for "any department" / "any position"
+    private static final String ANY = "";
+
+    private final String ruleSet;
+    private final String source;
+    private final int ruleCount;
+    private final LocalDateTime compiledAt = LocalDateTime.now();
+    private final Map<String, Map<String, CompiledRules>> rulesByDepartmentAndPosition;
+
+    private PayRulePlan(String ruleSet, String source, int ruleCount,
+                        Map<String, Map<String, CompiledRules>> rulesByDepartmentAndPosition) {
+        this.ruleSet = ruleSet;
+        this.source = source;
+        this.ruleCount = ruleCount;
+        this.rulesByDepartmentAndPosition = rulesByDepartmentAndPosition;
+    }
+
+    // Compile database rules; throws if a rule is incomplete, so a bad rule set never replaces a good one
+    public static PayRulePlan compile(String ruleSet, List<PayRule> rules) {
+        rules.forEach(PayRulePlan::check);
+
+        Set<String> departments = new LinkedHashSet<>();
+        Set<String> positions = new LinkedHashSet<>();
+        departments.add(ANY);
+        positions.add(ANY);
+        for (PayRule rule : rules) {
+            departments.add(key(rule.getDepartment()));
+            positions.add(key(rule.getPosition()));
+        }
+
+        Map<String, Map<String, CompiledRules>> byDepartment = new HashMap<>();
+        for (String department : departments) {
+            Map<String, CompiledRules> byPosition = new HashMap<>();
+            for (String position : positions) {
+                List<PayRule> matching = rules.stream()
+                        .filter(rule -> matches(rule.getDepartment(), department) && matches(rule.getPosition(), position))
+                        .toList();
+                byPosition.put(position, new CompiledRules(
+                        Component.of(matching, PayComponent.ALLOWANCE), Component.of(matching, PayComponent.DEDUCTION)));
+            }
+            byDepartment.put(department, Map.copyOf(byPosition));
+        }
+        return new PayRulePlan(ruleSet, "database", rules.size(), Map.copyOf(byDepartment));
+    }
+
+    // Plan used when the active rule set has no rules in the database: flat rates from configuration
+    public static PayRulePlan defaults(String ruleSet, long allowanceBasisPoints, long deductionBasisPoints) {
+        PayRule allowance = percentRule(ruleSet, PayComponent.ALLOWANCE, allowanceBasisPoints);
+        PayRule deduction = percentRule(ruleSet, PayComponent.DEDUCTION, deductionBasisPoints);
+        PayRulePlan compiled = compile(ruleSet, List.of(allowance, deduction));
+        return new PayRulePlan(ruleSet, "config", 2, compiled.rulesByDepartmentAndPosition);
+    }
+
+    public long allowances(String department, String position, long basicMinor) {
+        return rulesFor(department, position).allowances.evaluate(basicMinor);
+    }
+
+    public long deductions(String department, String position, long basicMinor) {
+        return rulesFor(department, position).deductions.evaluate(basicMinor);
+    }
+
+    // Column-wise evaluation for the given rows of basic[] (all in the same department and position).
+    // Adds each row's allowances and deductions to the output columns, rule by rule, with the same
+    // arithmetic as the single-employee methods.
+    public void evaluateColumns(String department, String position, long[] basic, int[] rows, int count,
+                                long[] allowancesOut, long[] deductionsOut) {
+        CompiledRules rules = rulesFor(department, position);
+        rules.allowances.evaluateInto(basic, rows, count, allowancesOut);
+        rules.deductions.evaluateInto(basic, rows, count, deductionsOut);
+    }
+
+    public String getRuleSet() {
+        return ruleSet;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public LocalDateTime getCompiledAt() {
+        return compiledAt;
+    }
+
+    private CompiledRules rulesFor(String department, String position) {
+        Map<String, CompiledRules> byPosition = rulesByDepartmentAndPosition.get(department != null ? department : ANY);
+        if (byPosition == null) {
+            byPosition = rulesByDepartmentAndPosition.get(ANY);
+        }
+        CompiledRules rules = byPosition.get(position != null ? position : ANY);
+        return rules != null ? rules : byPosition.get(ANY);
+    }
+
+    private static String key(String value) {
+        return value == null || value.isBlank() ? ANY : value;
+    }
+
+    // A rule without a department/position applies to any; otherwise only to that exact value
+    private static boolean matches(String ruleValue, String value) {
+        return key(ruleValue).equals(ANY) || key(ruleValue).equals(value);
+    }
+
+    private static void check(PayRule rule) {
+        if (rule.getComponent() == null || rule.getType() == null) {
+            throw new RuntimeException("Pay rule " + rule.getId() + " needs a component and a type");
+        }
+        boolean complete = switch (rule.getType()) {
+            case PERCENT_OF_BASIC -> rule.getRateBasisPoints() != null;
+            case FIXED_AMOUNT -> rule.getAmount() != null;
+            case SLAB -> rule.getRateBasisPoints() != null && rule.getSlabFrom() != null
+                    && (rule.getSlabTo() == null || rule.getSlabTo() >= rule.getSlabFrom());
+        };
+        if (!complete) {
+            throw new RuntimeException("Pay rule " + rule.getId() + " of type " + rule.getType() + " is incomplete");
+        }
+        // Negative figures would turn into negative allowances or deductions on every payslip
+        checkNotNegative(rule, "rate", rule.getRateBasisPoints() != null ? rule.getRateBasisPoints().doubleValue() : null);
+        checkNotNegative(rule, "amount", rule.getAmount());
+        checkNotNegative(rule, "slab start", rule.getSlabFrom());
+        checkNotNegative(rule, "slab end", rule.getSlabTo());
+        checkNotNegative(rule, "cap", rule.getCap());
+    }
+
+    private static void checkNotNegative(PayRule rule, String field, Double value) {
+        if (value != null && !(value >= 0)) {
+            throw new RuntimeException("Pay rule " + rule.getId() + " has a negative " + field + ": " + value);
+        }
+    }
+
+    private static PayRule percentRule(String ruleSet, PayComponent component, long basisPoints) {
+        PayRule rule = new PayRule();
+        rule.setRuleSet(ruleSet);
+        rule.setComponent(component);
+        rule.setType(PayRuleType.PERCENT_OF_BASIC);
+        rule.setRateBasisPoints(basisPoints);
+        return rule;
+    }
+
+    private record CompiledRules(Component allowances, Component deductions) {}
+
+    // The rules of one component as parallel primitive arrays (amounts in minor units)
+    private static final class Component {
+        private final PayRuleType[] types;
+        private final long[] rates;
+        private final long[] amounts;
+        private final long[] slabFrom;
+        private final long[] slabTo;
+        private final long[] caps;
+
+        private Component(int size) {
+            types = new PayRuleType[size];
+            rates = new long[size];
+            amounts = new long[size];
+            slabFrom = new long[size];
+            slabTo = new long[size];
+            caps = new long[size];
+        }
+
+        static Component of(List<PayRule> rules, PayComponent component) {
+            List<PayRule> selected = rules.stream().filter(rule -> rule.getComponent() == component).toList();
+            Component compiled = new Component(selected.size());
+            for (int i = 0; i < selected.size(); i++) {
+                PayRule rule = selected.get(i);
+                compiled.types[i] = rule.getType();
+                compiled.rates[i] = rule.getRateBasisPoints() != null ? rule.getRateBasisPoints() : 0;
+                compiled.amounts[i] = rule.getAmount() != null ? Money.toMinor(rule.getAmount()) : 0;
+                compiled.slabFrom[i] = rule.getSlabFrom() != null ? Money.toMinor(rule.getSlabFrom()) : 0;
+                compiled.slabTo[i] = rule.getSlabTo() != null ? Money.toMinor(rule.getSlabTo()) : Long.MAX_VALUE;
+                compiled.caps[i] = rule.getCap() != null ? Money.toMinor(rule.getCap()) : Long.MAX_VALUE;
+            }
+            return compiled;
+        }
+
+        long evaluate(long basic) {
+            long total = 0;
+            for (int i = 0; i < types.length; i++) {
+                long value = switch (types[i]) {
+                    case PERCENT_OF_BASIC -> Money.percentOf(basic, rates[i]);
+                    case FIXED_AMOUNT -> amounts[i];
+                    case SLAB -> basic > slabFrom[i] ? Money.percentOf(Math.min(basic, slabTo[i]) - slabFrom[i], rates[i]) : 0;
+                };
+                total += Math.min(value, caps[i]);
+            }
+            return total;
+        }
+
+        // One rule at a time over all rows, so each inner loop is a single formula over a primitive column
+        void evaluateInto(long[] basic, int[] rows, int count, long[] out) {
+            for (int i = 0; i < types.length; i++) {
+                long rate = rates[i];
+                long cap = caps[i];
+                switch (types[i]) {
+                    case PERCENT_OF_BASIC -> {
+                        for (int r = 0; r < count; r++) {
+                            int row = rows[r];
+                            out[row] += Math.min(Money.percentOf(basic[row], rate), cap);
+                        }
+                    }
+                    case FIXED_AMOUNT -> {
+                        long amount = Math.min(amounts[i], cap);
+                        for (int r = 0; r < count; r++) {
+                            out[rows[r]] += amount;
+                        }
+                    }
+                    case SLAB -> {
+                        long from = slabFrom[i];
+                        long to = slabTo[i];
+                        for (int r = 0; r < count; r++) {
+                            int row = rows[r];
+                            long b = basic[row];
+                            out[row] += Math.min(b > from ? Money.percentOf(Math.min(b, to) - from, rate) : 0, cap);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.PayrollSummary;
+import com.company.payroll.entity.PayrollAggregate;
+import com.company.payroll.entity.Salary;
+import com.company.payroll.enums.PayrollStatus;
+import com.company.payroll.repository.PayrollAggregateRepository;
+import com.company.payroll.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps payroll_aggregates (count and totals per pay period, status and department) in step with the
+ * salaries table. Every salary write adjusts its bucket in the same transaction, so the dashboard summary
+ * is read from a handful of aggregate rows instead of scanning salaries.
+ */
+@Service
+public class PayrollAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollAggregateService.class);
+
+    private static final String UNASSIGNED = "Unassigned";
+
+    // Buckets are always updated in this order so concurrent chunk transactions lock them in the same order
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator.comparing(BucketKey::payPeriod)
+            .thenComparing(BucketKey::status)
+            .thenComparing(BucketKey::department);
+
+    @Autowired
+    private PayrollAggregateRepository aggregateRepository;
+
+    // Count newly saved salaries
+    @Transactional
+    public void recordCreated(Collection<Salary> salaries) {
+        Map<BucketKey, Amounts> deltas = new TreeMap<>(BUCKET_ORDER);
+        for (Salary salary : salaries) {
+            add(deltas, salary, salary.getStatus(), 1);
+        }
+        apply(deltas);
+    }
+
+    // Take deleted salaries out of their buckets
+    @Transactional
+    public void recordDeleted(Collection<Salary> salaries) {
+        Map<BucketKey, Amounts> deltas = new TreeMap<>(BUCKET_ORDER);
+        for (Salary salary : salaries) {
+            add(deltas, salary, salary.getStatus(), -1);
+        }
+        apply(deltas);
+    }
+
+    // Move a salary from its previous status bucket to its current one
+    @Transactional
+    public void recordStatusChange(Salary salary, PayrollStatus previousStatus) {
+        if (previousStatus == salary.getStatus()) {
+            return;
+        }
+        Map<BucketKey, Amounts> deltas = new TreeMap<>(BUCKET_ORDER);
+        add(deltas, salary, previousStatus, -1);
+        add(deltas, salary, salary.getStatus(), 1);
+        apply(deltas);
+    }
+
+    // A whole pay period moved from one status to another: each department bucket moves along with it
+    @Transactional
+    public void recordPayPeriodStatusChange(LocalDate payPeriod, PayrollStatus fromStatus, PayrollStatus toStatus) {
+        Map<BucketKey, Amounts> deltas = new TreeMap<>(BUCKET_ORDER);
+        for (PayrollAggregate row : aggregateRepository.findWithLockByPayPeriodAndStatus(payPeriod, fromStatus)) {
+            if (row.getSalaryCount() == 0) {
+                continue;
+            }
+            deltas.computeIfAbsent(new BucketKey(payPeriod, fromStatus.name(), row.getDepartment()), k -> new Amounts())
+                    .subtract(row);
+            deltas.computeIfAbsent(new BucketKey(payPeriod, toStatus.name(), row.getDepartment()), k -> new Amounts())
+                    .add(row);
+        }
+        apply(deltas);
+    }
+
+    // Summary for one pay period, or for all of them when payPeriod is null
+    @Transactional(readOnly = true)
+    public PayrollSummary getSummary(LocalDate payPeriod) {
+        List<PayrollAggregate> rows = payPeriod != null
+                ? aggregateRepository.findByPayPeriod(payPeriod)
+                : aggregateRepository.findAll();
+
+        Amounts total = new Amounts();
+        Map<String, Amounts> byPayPeriod = new TreeMap<>();
+        Map<String, Amounts> byStatus = new TreeMap<>();
+        Map<String, Amounts> byDepartment = new TreeMap<>();
+        for (PayrollAggregate row : rows) {
+            if (row.getSalaryCount() == 0) {
+                continue;
+            }
+            String department = row.getDepartment().isEmpty() ? UNASSIGNED : row.getDepartment();
+            total.add(row);
+            byPayPeriod.computeIfAbsent(row.getPayPeriod().toString(), k -> new Amounts()).add(row);
+            byStatus.computeIfAbsent(row.getStatus().name(), k -> new Amounts()).add(row);
+            byDepartment.computeIfAbsent(department, k -> new Amounts()).add(row);
+        }
+
+        PayrollSummary summary = new PayrollSummary();
+        summary.setPayPeriod(payPeriod);
+        summary.setTotal(total.toDto("All"));
+        summary.setByPayPeriod(toDtos(byPayPeriod));
+        summary.setByStatus(toDtos(byStatus));
+        summary.setByDepartment(toDtos(byDepartment));
+        return summary;
+    }
+
+    // Recompute all aggregates from the salaries table, e.g. after salaries were changed outside the service
+    @Transactional
+    public int rebuild() {
+        aggregateRepository.deleteAllRows();
+        int buckets = aggregateRepository.rebuildFromSalaries();
+        logger.info("Rebuilt payroll aggregates from salaries: {} buckets", buckets);
+        return buckets;
+    }
+
+    private static void add(Map<BucketKey, Amounts> deltas, Salary salary, PayrollStatus status, int sign) {
+        String department = salary.getDepartment() != null ? salary.getDepartment() : "";
+        Amounts amounts = deltas.computeIfAbsent(new BucketKey(salary.getPayPeriod(), status.name(), department),
+                k -> new Amounts());
+        amounts.count += sign;
+        amounts.basic += sign * Money.toMinor(salary.getBasicSalary());
+        amounts.allowances += sign * (salary.getAllowances() != null ? Money.toMinor(salary.getAllowances()) : 0);
+        amounts.deductions += sign * (salary.getDeductions() != null ? Money.toMinor(salary.getDeductions()) : 0);
+        amounts.net += sign * Money.toMinor(salary.getNetSalary());
+    }
+
+    private void apply(Map<BucketKey, Amounts> deltas) {
+        deltas.forEach((key, amounts) -> aggregateRepository.increment(key.payPeriod(), key.status(), key.department(),
+                amounts.count, amounts.basic, amounts.allowances, amounts.deductions, amounts.net));
+    }
+
+    private static List<PayrollSummary.Totals> toDtos(Map<String, Amounts> groups) {
+        List<PayrollSummary.Totals> dtos = new ArrayList<>(groups.size());
+        groups.forEach((key, amounts) -> dtos.add(amounts.toDto(key)));
+        return dtos;
+    }
+
+    private record BucketKey(LocalDate payPeriod, String status, String department) {}
+
+    // Running sums in minor units
+    private static class Amounts {
+        private long count;
+        private long basic;
+        private long allowances;
+        private long deductions;
+        private long net;
+
+        void add(PayrollAggregate row) {
+            count += row.getSalaryCount();
+            basic += row.getTotalBasic();
+            allowances += row.getTotalAllowances();
+            deductions += row.getTotalDeductions();
+            net += row.getTotalNet();
+        }
+
+        void subtract(PayrollAggregate row) {
+            count -= row.getSalaryCount();
+            basic -= row.getTotalBasic();
+            allowances -= row.getTotalAllowances();
+            deductions -= row.getTotalDeductions();
+            net -= row.getTotalNet();
+        }
+
+        PayrollSummary.Totals toDto(String key) {
+            PayrollSummary.Totals dto = new PayrollSummary.Totals();
+            dto.setKey(key);
+            dto.setCount(count);
+            dto.setBasic(Money.toMajor(basic));
+            dto.setAllowances(Money.toMajor(allowances));
+            dto.setDeductions(Money.toMajor(deductions));
+            dto.setNet(Money.toMajor(net));
+            dto.setAverageNet(count > 0 ? Money.toMajor(Money.divideHalfUp(net, count)) : 0);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.payroll.service;
+
+import com.company.payroll.entity.Salary;
+import com.company.payroll.util.Money;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Result of a columnar payroll calculation: one primitive array per field, amounts in minor units.
+// A row with an error was not calculated and must not be saved.
+public final class PayrollColumns {
+
+    private final int size;
+    private final Long[] employeeIds;
+    private final String[] employeeCodes;
+    private final String[] departments;
+    private final long[] basic;
+    private final long[] allowances;
+    private final long[] deductions;
+    private final long[] net;
+    private final String[] errors;
+
+    PayrollColumns(int size) {
+        this.size = size;
+        this.employeeIds = new Long[size];
+        this.employeeCodes = new String[size];
+        this.departments = new String[size];
+        this.basic = new long[size];
+        this.allowances = new long[size];
+        this.deductions = new long[size];
+        this.net = new long[size];
+        this.errors = new String[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isValid(int row) {
+        return errors[row] == null;
+    }
+
+    public String getError(int row) {
+        return errors[row];
+    }
+
+    public Long getEmployeeId(int row) {
+        return employeeIds[row];
+    }
+
+    public String getEmployeeCode(int row) {
+        return employeeCodes[row];
+    }
+
+    public String getDepartment(int row) {
+        return departments[row];
+    }
+
+    public long getBasic(int row) {
+        return basic[row];
+    }
+
+    public long getAllowances(int row) {
+        return allowances[row];
+    }
+
+    public long getDeductions(int row) {
+        return deductions[row];
+    }
+
+    public long getNet(int row) {
+        return net[row];
+    }
+
+    // A new DRAFT payroll record for a valid row
+    public Salary toSalary(int row, LocalDate payPeriod) {
+        Salary salary = new Salary();
+        salary.setEmployeeId(employeeIds[row]);
+        salary.setEmployeeCode(employeeCodes[row]);
+        salary.setBasicSalary(Money.toMajor(basic[row]));
+        salary.setAllowances(Money.toMajor(allowances[row]));
+        salary.setDeductions(Money.toMajor(deductions[row]));
+        salary.setNetSalary(Money.toMajor(net[row]));
+        salary.setPayPeriod(payPeriod);
+        salary.setDepartment(departments[row]);
+        salary.setCreatedAt(LocalDateTime.now());
+        return salary;
+    }
+
+    Long[] employeeIds() {
+        return employeeIds;
+    }
+
+    String[] employeeCodes() {
+        return employeeCodes;
+    }
+
+    String[] departments() {
+        return departments;
+    }
+
+    long[] basic() {
+        return basic;
+    }
+
+    long[] allowances() {
+        return allowances;
+    }
+
+    long[] deductions() {
+        return deductions;
+    }
+
+    long[] net() {
+        return net;
+    }
+
+    String[] errors() {
+        return errors;
+    }
+}
@@ -0,0 +1,489 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.BulkPayrollResult;
+import com.company.payroll.dto.EmployeeDTO;
+import com.company.payroll.entity.PayrollJob;
+import com.company.payroll.entity.PayrollJobShard;
+import com.company.payroll.enums.PayrollJobStatus;
+import com.company.payroll.enums.PayrollShardStatus;
+import com.company.payroll.repository.PayrollJobRepository;
+import com.company.payroll.repository.PayrollJobShardRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs bulk payroll as background jobs. Submitting returns at once with a persisted job whose roster is
+ * split into shards by employee-code hash. Every node polls for active jobs and claims shards through
+ * database leases, so a run spreads over all payroll-service nodes, and a shard left behind by a stopped
+ * node is picked up again once its lease expires (committed chunks are skipped, so it carries on).
+ */
+@Service
+public class PayrollJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollJobService.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+
+    // The submit lease only covers the check-then-insert; it expires on its own if the node dies holding it
+    private static final long SUBMIT_LEASE_MILLIS = 30_000;
+    private static final long SUBMIT_WAIT_MILLIS = 5_000;
+    private static final long SUBMIT_POLL_MILLIS = 100;
+
+    private static final List<PayrollJobStatus> ACTIVE_STATUSES = List.of(PayrollJobStatus.QUEUED, PayrollJobStatus.RUNNING);
+
+    @Autowired
+    private PayrollJobRepository jobRepository;
+
+    @Autowired
+    private PayrollJobShardRepository shardRepository;
+
+    @Autowired
+    private BulkPayrollEngine bulkPayrollEngine;
+
+    @Autowired
+    private EmployeeServiceClient employeeServiceClient;
+
+    @Autowired
+    private EmployeeRosterReplica employeeRosterReplica;
+
+    @Autowired
+    private ClusterLeaseService clusterLeaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${payroll.bulk.roster-page-size:1000}")
+    private int rosterPageSize;
+
+    @Value("${payroll.cluster.shards:1}")
+    private int shardCount;
+
+    // Renewed on every progress flush, so it must be comfortably longer than payroll.jobs.progress-flush-ms
+    @Value("${payroll.cluster.shard-lease-ms:60000}")
+    private long shardLeaseMillis;
+
+    // One shard at a time per node; the engine parallelises inside a shard
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+
+    private final Map<Long, RunningShard> runningShards = new ConcurrentHashMap<>();
+
+    private final Set<Long> queuedJobs = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    // Keeps the progress flush from writing over a shard that has just been finished or released
+    private final ReentrantLock progressLock = new ReentrantLock();
+
+    private volatile boolean shuttingDown;
+
+    private record RunningShard(Long jobId, BulkPayrollResult result, long startNanos, AtomicBoolean cancelled) {}
+
+    // Queue a bulk run for the pay period, or return the one already queued or running for it. A database
+    // lease on the pay period makes the check-then-insert atomic across nodes; submitLock covers this node.
+    public PayrollJob submit(LocalDate payPeriod) {
+        String leaseName = "payroll-job-submit:" + payPeriod;
+        long deadline = System.currentTimeMillis() + SUBMIT_WAIT_MILLIS;
+        submitLock.lock();
+        try {
+            while (!clusterLeaseService.tryAcquire(leaseName, Duration.ofMillis(SUBMIT_LEASE_MILLIS))) {
+                // Another node is submitting for this period: return its job once it is saved
+                Optional<PayrollJob> active = jobRepository.findFirstByPayPeriodAndStatusIn(payPeriod, ACTIVE_STATUSES);
+                if (active.isPresent()) {
+                    return active.get();
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new RuntimeException("A payroll job for " + payPeriod + " is being submitted on another node, try again");
+                }
+                Thread.sleep(SUBMIT_POLL_MILLIS);
+            }
+            try {
+                Optional<PayrollJob> active = jobRepository.findFirstByPayPeriodAndStatusIn(payPeriod, ACTIVE_STATUSES);
+                if (active.isPresent()) {
+                    return active.get();
+                }
+                PayrollJob job = new PayrollJob(payPeriod);
+                job.setShardCount(Math.max(1, shardCount));
+                PayrollJob saved = new TransactionTemplate(transactionManager).execute(status -> {
+                    PayrollJob created = jobRepository.save(job);
+                    for (int i = 0; i < created.getShardCount(); i++) {
+                        shardRepository.save(new PayrollJobShard(created.getId(), i));
+                    }
+                    return created;
+                });
+                enqueue(saved.getId());
+                return saved;
+            } finally {
+                clusterLeaseService.release(leaseName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while submitting payroll job for " + payPeriod, e);
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    // Job with its progress summed over the shards (live figures for shards running on this node)
+    public Optional<PayrollJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId).map(job -> {
+            if (job.getStatus().isActive()) {
+                summarize(job);
+            }
+            return job;
+        });
+    }
+
+    public List<PayrollJob> getRecentJobs() {
+        List<PayrollJob> jobs = jobRepository.findTop20ByOrderByIdDesc();
+        jobs.stream().filter(job -> job.getStatus().isActive()).forEach(this::summarize);
+        return jobs;
+    }
+
+    // Stop starting new chunks on every node; chunks already running finish and stay committed
+    public PayrollJob cancel(Long jobId) {
+        if (jobRepository.requestCancel(jobId) == 0) {
+            PayrollJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Payroll job not found with ID: " + jobId));
+            throw new RuntimeException("Payroll job " + jobId + " has already finished with status " + job.getStatus());
+        }
+
+        runningShards.values().stream()
+                .filter(running -> running.jobId().equals(jobId))
+                .forEach(running -> running.cancelled().set(true));
+        // A job that never started is done at once; a running one is finished by the node that stops last
+        jobRepository.cancelQueued(jobId, "Cancelled before it started");
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Payroll job not found with ID: " + jobId));
+    }
+
+    // Join active jobs that still have shards to claim: on boot (resumes jobs after a restart) and on a timer
+    // (picks up jobs submitted on other nodes and shards whose owner stopped renewing its lease). Jobs with
+    // nothing left to claim are finished here when the node that should have done so stopped first, e.g. a
+    // cancelled job whose last running shard belonged to a node that died.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${payroll.cluster.poll-ms:15000}", initialDelayString = "${payroll.cluster.poll-ms:15000}")
+    public void joinActiveJobs() {
+        for (PayrollJob job : jobRepository.findByStatusInOrderByIdAsc(ACTIVE_STATUSES)) {
+            if (!job.isCancelRequested() && hasClaimableShard(job.getId())) {
+                enqueue(job.getId());
+            } else if (!queuedJobs.contains(job.getId())) {
+                completeIfDone(job.getId());
+            }
+        }
+    }
+
+    // Renew the leases of shards running here and write their progress; stop a shard whose job was
+    // cancelled through another node or whose lease was lost
+    @Scheduled(fixedDelayString = "${payroll.jobs.progress-flush-ms:5000}")
+    public void flushProgress() {
+        progressLock.lock();
+        try {
+            String nodeId = clusterLeaseService.getNodeId();
+            runningShards.forEach((shardId, running) -> {
+                boolean cancelRequested = jobRepository.findById(running.jobId())
+                        .map(PayrollJob::isCancelRequested).orElse(true);
+                if (cancelRequested || shardRepository.renew(shardId, nodeId, shardLeaseMillis) == 0) {
+                    running.cancelled().set(true);
+                }
+                saveShard(shardId, running, null);
+            });
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running shards stop starting chunks and are handed back, so another node (or the next start) resumes them
+        shuttingDown = true;
+        jobExecutor.shutdown();
+    }
+
+    private void enqueue(Long jobId) {
+        if (queuedJobs.add(jobId)) {
+            jobExecutor.execute(() -> runJob(jobId));
+        }
+    }
+
+    // Claim and run shards of the job until none are left to claim here
+    private void runJob(Long jobId) {
+        try {
+            while (!shuttingDown) {
+                PayrollJob job = jobRepository.findById(jobId).orElse(null);
+                if (job == null || !job.getStatus().isActive() || job.isCancelRequested()) {
+                    break;
+                }
+                PayrollJobShard shard = claimShard(jobId);
+                if (shard == null || !runShard(job, shard)) {
+                    break;
+                }
+            }
+            completeIfDone(jobId);
+        } finally {
+            queuedJobs.remove(jobId);
+        }
+    }
+
+    private PayrollJobShard claimShard(Long jobId) {
+        for (PayrollJobShard shard : shardRepository.findByJobIdOrderByShardIndexAsc(jobId)) {
+            if (shard.getStatus() != PayrollShardStatus.DONE
+                    && shardRepository.claim(shard.getId(), clusterLeaseService.getNodeId(), shardLeaseMillis) == 1) {
+                return shard;
+            }
+        }
+        return null;
+    }
+
+    // Returns true when the shard finished and the node can go on to the next one
+    private boolean runShard(PayrollJob job, PayrollJobShard shard) {
+        Long shardId = shard.getId();
+        RunningShard running = new RunningShard(job.getId(), new BulkPayrollResult(job.getPayPeriod()), System.nanoTime(),
+                new AtomicBoolean());
+        try {
+            if (job.getStatus() == PayrollJobStatus.QUEUED) {
+                jobRepository.start(job.getId());
+            }
+
+            List<EmployeeDTO> replicaRoster = replicaRoster();
+            Iterator<List<EmployeeDTO>> roster;
+            Integer expectedEmployees = null;
+            if (replicaRoster != null) {
+                List<EmployeeDTO> shardRoster = replicaRoster.stream()
+                        .filter(employee -> inShard(employee, shard.getShardIndex(), job.getShardCount()))
+                        .toList();
+                roster = List.of(shardRoster).iterator();
+                expectedEmployees = shardRoster.size();
+            } else {
+                roster = shardPages(employeeServiceClient.getEmployeePages(rosterPageSize), shard.getShardIndex(), job.getShardCount());
+            }
+            Integer expected = expectedEmployees;
+            runningShards.put(shardId, running);
+            saveShard(shardId, running, s -> s.setExpectedEmployees(expected));
+
+            logger.info("Node {} running shard {}/{} of payroll job {}", clusterLeaseService.getNodeId(),
+                    shard.getShardIndex() + 1, job.getShardCount(), job.getId());
+            BulkPayrollResult result = bulkPayrollEngine.run(roster, job.getPayPeriod(), running.result(),
+                    () -> running.cancelled().get() || shuttingDown);
+
+            if (!result.isCancelled()) {
+                endShard(shardId, running, PayrollShardStatus.DONE, null);
+                return true;
+            }
+            // Handed back; runJob's completeIfDone finishes the job if it was cancelled
+            endShard(shardId, running, PayrollShardStatus.PENDING, null);
+            return false;
+        } catch (Exception e) {
+            // Only this shard fails; shards on other nodes carry on and the last one to stop finishes the job
+            logger.error("Shard {} of payroll job {} failed", shard.getShardIndex(), job.getId(), e);
+            endShard(shardId, running, PayrollShardStatus.DONE, String.valueOf(e.getMessage()));
+            return true;
+        }
+    }
+
+    // Finish the job once nothing is left to run (whichever node stops last does this): when every shard is
+    // done, or when a cancel was requested and no shard is still held under a live lease. The outcome comes
+    // from all shards: FAILED if any shard stopped on an error or any chunk failed.
+    private void completeIfDone(Long jobId) {
+        PayrollJob job = jobRepository.findById(jobId).filter(j -> j.getStatus().isActive()).orElse(null);
+        if (job == null) {
+            return;
+        }
+        boolean allDone = shardRepository.countByJobIdAndStatusNot(jobId, PayrollShardStatus.DONE) == 0;
+        if (!allDone && !(job.isCancelRequested() && shardRepository.countLiveShards(jobId) == 0)) {
+            return;
+        }
+
+        summarize(job);
+        String summary = String.format(
+                "Bulk payroll for %s: processed %d, skipped %d, failed %d employees in %d shard(s); "
+                + "%d/%d chunks committed (%d resumed, %d failed)",
+                job.getPayPeriod(), job.getProcessed(), job.getSkipped(), job.getFailed(), job.getShardCount(),
+                job.getCommittedChunks() + job.getResumedChunks(), job.getTotalChunks(),
+                job.getResumedChunks(), job.getFailedChunks());
+        List<String> shardErrors = shardRepository.findByJobIdOrderByShardIndexAsc(jobId).stream()
+                .filter(shard -> shard.getError() != null)
+                .map(shard -> "shard " + (shard.getShardIndex() + 1) + " failed: " + shard.getError())
+                .toList();
+        if (!allDone) {
+            finish(job, PayrollJobStatus.CANCELLED, "Cancelled. " + summary);
+        } else if (!shardErrors.isEmpty()) {
+            finish(job, PayrollJobStatus.FAILED, summary + "; " + String.join("; ", shardErrors)
+                    + ". Submit the pay period again to resume");
+        } else if (job.getFailedChunks() > 0) {
+            // Failed chunks were rolled back; submitting the pay period again generates just those employees
+            finish(job, PayrollJobStatus.FAILED, summary + ". Submit the pay period again to retry the failed chunks");
+        } else {
+            finish(job, PayrollJobStatus.COMPLETED, summary);
+        }
+    }
+
+    private boolean hasClaimableShard(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        // Only a hint: the claim itself checks lease expiry against the database clock
+        return shardRepository.findByJobIdOrderByShardIndexAsc(jobId).stream()
+                .anyMatch(shard -> shard.getStatus() == PayrollShardStatus.PENDING
+                        || (shard.getStatus() == PayrollShardStatus.RUNNING
+                            && (shard.getLeaseExpiresAt() == null || shard.getLeaseExpiresAt().isBefore(now))));
+    }
+
+    // The local roster replica when it has loaded (after pulling pending changes), otherwise null
+    private List<EmployeeDTO> replicaRoster() {
+        if (!employeeRosterReplica.isReady()) {
+            return null;
+        }
+        try {
+            employeeRosterReplica.sync();
+        } catch (Exception e) {
+            logger.warn("Could not pull employee changes, using replica at version {}: {}",
+                    employeeRosterReplica.getVersion(), e.getMessage());
+        }
+        return employeeRosterReplica.snapshot();
+    }
+
+    private static boolean inShard(EmployeeDTO employee, int shardIndex, int shardCount) {
+        return employee.getEmployeeCode() != null
+                && PayrollJobShard.shardFor(employee.getEmployeeCode(), shardCount) == shardIndex;
+    }
+
+    private static Iterator<List<EmployeeDTO>> shardPages(Iterator<List<EmployeeDTO>> pages, int shardIndex, int shardCount) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return pages.hasNext();
+            }
+
+            @Override
+            public List<EmployeeDTO> next() {
+                return pages.next().stream().filter(employee -> inShard(employee, shardIndex, shardCount)).toList();
+            }
+        };
+    }
+
+    // Final progress for a shard this node owns; PENDING hands the shard back for another node to claim
+    private void endShard(Long shardId, RunningShard running, PayrollShardStatus status, String error) {
+        progressLock.lock();
+        try {
+            runningShards.remove(shardId);
+            saveShard(shardId, running, shard -> {
+                shard.setStatus(status);
+                shard.setError(error != null && error.length() > MAX_MESSAGE_LENGTH ? error.substring(0, MAX_MESSAGE_LENGTH) : error);
+                if (status == PayrollShardStatus.PENDING) {
+                    shard.setOwner(null);
+                    shard.setLeaseExpiresAt(null);
+                }
+            });
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    // Copy live progress into the shard row, only while this node still owns it
+    private void saveShard(Long shardId, RunningShard running, Consumer<PayrollJobShard> change) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                shardRepository.findWithLockById(shardId)
+                        .filter(shard -> clusterLeaseService.getNodeId().equals(shard.getOwner())
+                                && shard.getStatus() == PayrollShardStatus.RUNNING)
+                        .ifPresent(shard -> {
+                            copyProgress(running, shard);
+                            if (change != null) {
+                                change.accept(shard);
+                            }
+                            shardRepository.save(shard);
+                        }));
+    }
+
+    private void finish(PayrollJob job, PayrollJobStatus status, String message) {
+        if (jobRepository.markFinished(job.getId(), status.name()) == 0) {
+            // Already finished by another node or a cancel
+            return;
+        }
+        job.setStatus(status);
+        job.setMessage(message != null && message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+        logger.info("Payroll job {} {}: {}", job.getId(), status, message);
+    }
+
+    // Sum shard progress into the job (shards running on this node contribute their live figures)
+    private void summarize(PayrollJob job) {
+        int totalEmployees = 0, processed = 0, skipped = 0, failed = 0, resumedEmployees = 0;
+        int totalChunks = 0, committedChunks = 0, resumedChunks = 0, failedChunks = 0;
+        double employeesPerSecond = 0;
+        Integer expectedEmployees = 0;
+        for (PayrollJobShard shard : shardRepository.findByJobIdOrderByShardIndexAsc(job.getId())) {
+            RunningShard running = runningShards.get(shard.getId());
+            if (running != null) {
+                copyProgress(running, shard);
+            }
+            totalEmployees += shard.getTotalEmployees();
+            processed += shard.getProcessed();
+            skipped += shard.getSkipped();
+            failed += shard.getFailed();
+            resumedEmployees += shard.getResumedEmployees();
+            totalChunks += shard.getTotalChunks();
+            committedChunks += shard.getCommittedChunks();
+            resumedChunks += shard.getResumedChunks();
+            failedChunks += shard.getFailedChunks();
+            if (shard.getStatus() == PayrollShardStatus.RUNNING) {
+                employeesPerSecond += shard.getEmployeesPerSecond();
+            }
+            expectedEmployees = expectedEmployees == null || shard.getExpectedEmployees() == null
+                    ? null : expectedEmployees + shard.getExpectedEmployees();
+        }
+        job.setTotalEmployees(totalEmployees);
+        job.setProcessed(processed);
+        job.setSkipped(skipped);
+        job.setFailed(failed);
+        job.setResumedEmployees(resumedEmployees);
+        job.setTotalChunks(totalChunks);
+        job.setCommittedChunks(committedChunks);
+        job.setResumedChunks(resumedChunks);
+        job.setFailedChunks(failedChunks);
+        job.setEmployeesPerSecond(employeesPerSecond);
+        job.setExpectedEmployees(expectedEmployees);
+    }
+
+    private static void copyProgress(RunningShard running, PayrollJobShard shard) {
+        BulkPayrollResult result = running.result();
+        long elapsedNanos = System.nanoTime() - running.startNanos();
+        synchronized (result) {
+            shard.setTotalEmployees(result.getTotalEmployees());
+            shard.setProcessed(result.getProcessed());
+            shard.setSkipped(result.getSkipped());
+            shard.setFailed(result.getFailed());
+            shard.setResumedEmployees(result.getResumedEmployees());
+            shard.setTotalChunks(result.getTotalChunks());
+            shard.setCommittedChunks(result.getCommittedChunks());
+            shard.setResumedChunks(result.getResumedChunks());
+            shard.setFailedChunks(result.getFailedChunks());
+            int handled = result.getProcessed() + result.getSkipped() + result.getFailed();
+            shard.setEmployeesPerSecond(elapsedNanos > 0 ? handled * 1_000_000_000.0 / elapsedNanos : 0);
+        }
+        shard.setUpdatedAt(LocalDateTime.now());
+    }
+}
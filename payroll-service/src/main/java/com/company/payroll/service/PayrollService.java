@@ -1,39 +1,98 @@
 package com.company.payroll.service;
 
+import com.company.payroll.dto.CursorPage;
 import com.company.payroll.dto.EmployeeDTO;
 import com.company.payroll.entity.Salary;
 import com.company.payroll.enums.PayrollStatus;
+import com.company.payroll.exception.PreconditionFailedException;
 import com.company.payroll.repository.SalaryRepository;
 import com.company.payroll.repository.SalaryJdbcRepository;
+import com.company.payroll.util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class PayrollService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final SalaryRepository salaryRepository;
     private final EmployeeServiceClient employeeServiceClient;
     private final SalaryJdbcRepository salaryJdbcRepository;
+    private final PayRuleEngine payRuleEngine;
+    private final PayrollAggregateService payrollAggregateService;
+
+    @Autowired
+    @Lazy
+    private PayrollService self;
 
     @Autowired
     public PayrollService(
         SalaryRepository salaryRepository,
         EmployeeServiceClient employeeServiceClient,
-        SalaryJdbcRepository salaryJdbcRepository
+        SalaryJdbcRepository salaryJdbcRepository,
+        PayRuleEngine payRuleEngine,
+        PayrollAggregateService payrollAggregateService
     ) {
         this.salaryRepository = salaryRepository;
         this.employeeServiceClient = employeeServiceClient;
         this.salaryJdbcRepository = salaryJdbcRepository;
+        this.payRuleEngine = payRuleEngine;
+        this.payrollAggregateService = payrollAggregateService;
     }
 
+    // Not transactional: the employee-service call must not hold a database connection open
     public Salary generatePayroll(Salary salary) {
-        // Step 1: Basic validation (only check required fields)
-        if (salary.getEmployeeCode() == null || salary.getEmployeeCode().trim().isEmpty()) {
-            throw new RuntimeException("Employee code is required");
+        // Step 1: Basic validation (the duplicate check runs once, inside the transaction)
+        checkRequiredFields(salary);
+        
+        // Step 2: Fetch employee details from employee-service
+        EmployeeDTO employee = employeeServiceClient.getEmployeeByCode(salary.getEmployeeCode());
+
+        // Steps 3-5: Check, calculate and save in a transaction (through the proxy, so @Transactional applies)
+        return self.generatePayroll(salary, employee);
+    }
+
+    // Generate payroll from employee details the caller already holds (bulk runs reuse the fetched roster
+    // instead of calling employee-service again for every employee)
+    @Transactional
+    public Salary generatePayroll(Salary salary, EmployeeDTO employee) {
+        checkCanGeneratePayroll(salary);
+        calculatePayroll(salary, employee);
+        return savePayroll(salary);
+    }
+
+    // Calculate and validate a payroll record without saving it. Bulk callers check duplicates against
+    // getPaidEmployeeCodes() once per run and persist with savePayrollBatch.
+    public Salary preparePayroll(Salary salary, EmployeeDTO employee) {
+        checkRequiredFields(salary);
+        return calculatePayroll(salary, employee);
+    }
+
+    // Employee codes that already have payroll for the period, loaded with a single query
+    public Set<String> getPaidEmployeeCodes(LocalDate payPeriod) {
+        return salaryJdbcRepository.findEmployeeCodesByPayPeriod(payPeriod);
+    }
+
+    // Save prepared payroll records with JDBC batch inserts (runs in the caller's transaction)
+    public void savePayrollBatch(List<Salary> salaries) {
+        if (!salaries.isEmpty()) {
+            salaryJdbcRepository.insertAll(salaries);
+            payrollAggregateService.recordCreated(salaries);
         }
+    }
+
+    private void checkCanGeneratePayroll(Salary salary) {
+        checkRequiredFields(salary);
         
         // Check for duplicate payroll
         if (salary.getPayPeriod() != null && salary.getEmployeeCode() != null) {
@@ -41,10 +100,26 @@ public class PayrollService {
                 throw new RuntimeException("Payroll already exists for employee " + salary.getEmployeeCode() + " for period " + salary.getPayPeriod());
             }
         }
-        
-        // Step 2: Fetch employee details from employee-service
-        EmployeeDTO employee = employeeServiceClient.getEmployeeByCode(salary.getEmployeeCode());
+    }
 
+    private Salary savePayroll(Salary salary) {
+        try {
+            Salary saved = salaryRepository.save(salary);
+            payrollAggregateService.recordCreated(List.of(saved));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            // Another request saved the same employee and period after our duplicate check
+            throw new RuntimeException("Payroll already exists for employee " + salary.getEmployeeCode() + " for period " + salary.getPayPeriod(), e);
+        }
+    }
+
+    private void checkRequiredFields(Salary salary) {
+        if (salary.getEmployeeCode() == null || salary.getEmployeeCode().trim().isEmpty()) {
+            throw new RuntimeException("Employee code is required");
+        }
+    }
+
+    private Salary calculatePayroll(Salary salary, EmployeeDTO employee) {
         // Step 3: Use employee data for payroll calculation
         if (employee == null) {
             throw new RuntimeException("Employee not found for code: " + salary.getEmployeeCode());
@@ -54,25 +129,25 @@ public class PayrollService {
         if (salary.getEmployeeId() == null) {
             salary.setEmployeeId(employee.getId());
         }
+        salary.setDepartment(employee.getDepartment());
 
         // Use employee's basic salary from employee-service only if not provided
-        if (salary.getBasicSalary() == null) {
-            salary.setBasicSalary(employee.getBasicSalary());
-        }
-
-        // Calculate allowances and deductions (example logic)
-        if (salary.getAllowances() == null) {
-            double allowances = salary.getBasicSalary() * 0.2; // 20% of basic
-            salary.setAllowances(allowances);
-        }
-        
-        if (salary.getDeductions() == null) {
-            double deductions = salary.getBasicSalary() * 0.1; // 10% of basic
-            salary.setDeductions(deductions);
+        Double basicSalary = salary.getBasicSalary() != null ? salary.getBasicSalary() : employee.getBasicSalary();
+        if (basicSalary == null) {
+            throw new RuntimeException("Basic salary is not set for employee " + salary.getEmployeeCode());
         }
 
-        // Calculate net salary
-        salary.setNetSalary(salary.getBasicSalary() + salary.getAllowances() - salary.getDeductions());
+        // All amounts are computed in minor units (cents) and written back to the entity once.
+        // Allowances and deductions not given explicitly come from the active pay rule set.
+        PayRulePlan rules = payRuleEngine.getPlan();
+        long basic = Money.toMinor(basicSalary);
+        long allowances = salary.getAllowances() != null
+                ? Money.toMinor(salary.getAllowances())
+                : rules.allowances(employee.getDepartment(), employee.getPosition(), basic);
+        long deductions = salary.getDeductions() != null
+                ? Money.toMinor(salary.getDeductions())
+                : rules.deductions(employee.getDepartment(), employee.getPosition(), basic);
+        long net = basic + allowances - deductions;
 
         // Set createdAt and payPeriod if needed
         salary.setCreatedAt(java.time.LocalDateTime.now());
@@ -81,82 +156,156 @@ public class PayrollService {
         }
         
         // Step 4: Additional business logic validation (after all calculations)
-        validateSalaryData(salary);
+        validateSalaryData(salary.getPayPeriod(), basic, allowances, deductions);
 
-        // Step 5: Save the payroll record
-        return salaryRepository.save(salary);
+        salary.setBasicSalary(Money.toMajor(basic));
+        salary.setAllowances(Money.toMajor(allowances));
+        salary.setDeductions(Money.toMajor(deductions));
+        salary.setNetSalary(Money.toMajor(net));
+        return salary;
     }
 
+    // Read-only transactions are served by the read replica when one is configured
+
     // Get all payroll records for an employee (Hibernate/JPA)
+    @Transactional(readOnly = true)
     public List<Salary> getPayrollByEmployeeId(Long employeeId) {
         return salaryRepository.findByEmployeeId(employeeId);
     }
 
     // Get all payroll records for an employee (JDBC)
+    @Transactional(readOnly = true)
     public List<Salary> getPayrollByEmployeeIdJdbc(Long employeeId) {
         return salaryJdbcRepository.findSalariesByEmployeeId(employeeId);
     }
+
+    @Transactional(readOnly = true)
+    public Optional<Salary> getPayroll(Long salaryId) {
+        return salaryRepository.findById(salaryId);
+    }
+
     // Get all payroll records
+    @Transactional(readOnly = true)
     public List<Salary> getAllPayrolls() {
         return salaryRepository.findAll();
     }
+
+    // Get one keyset page of payroll records, optionally filtered by status or employee
+    @Transactional(readOnly = true)
+    public CursorPage<Salary> getPayrollPage(PayrollStatus status, Long employeeId, Long afterId, int limit) {
+        long cursor = afterId != null ? afterId : 0L;
+        Limit pageLimit = Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        List<Salary> salaries;
+        if (status != null) {
+            salaries = salaryRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, cursor, pageLimit);
+        } else if (employeeId != null) {
+            salaries = salaryRepository.findByEmployeeIdAndIdGreaterThanOrderByIdAsc(employeeId, cursor, pageLimit);
+        } else {
+            salaries = salaryRepository.findByIdGreaterThanOrderByIdAsc(cursor, pageLimit);
+        }
+
+        Long nextCursor = salaries.size() < pageLimit.max() ? null : salaries.get(salaries.size() - 1).getId();
+        return new CursorPage<>(salaries, nextCursor);
+    }
+
+    // Stream payroll records one at a time without materializing the result
+    @Transactional(readOnly = true)
+    public void streamPayrolls(PayrollStatus status, Long employeeId, Consumer<Salary> consumer) {
+        salaryJdbcRepository.streamSalaries(status, employeeId, consumer);
+    }
     
     @Transactional
     public void deleteSalariesByEmployeeCode(String employeeCode) {
-        salaryRepository.deleteByEmployeeCode(employeeCode);
+        List<Salary> salaries = salaryRepository.findByEmployeeCode(employeeCode);
+        if (!salaries.isEmpty()) {
+            payrollAggregateService.recordDeleted(salaries);
+            salaryRepository.deleteAllInBatch(salaries);
+        }
     }
     
     // Status management methods
+    @Transactional(readOnly = true)
     public List<Salary> getPayrollsByStatus(PayrollStatus status) {
         return salaryRepository.findByStatus(status);
     }
     
+    @Transactional
     public Salary updatePayrollStatus(Long salaryId, PayrollStatus newStatus) {
+        return updatePayrollStatus(salaryId, newStatus, null);
+    }
+
+    // Conditional status update: with expectedVersion set, fails with PreconditionFailedException unless the
+    // record is still at that version. Concurrent writers are caught by the @Version check when the update is
+    // flushed; the loser's transaction (including its aggregate change) rolls back with
+    // ObjectOptimisticLockingFailureException.
+    @Transactional
+    public Salary updatePayrollStatus(Long salaryId, PayrollStatus newStatus, Long expectedVersion) {
         Optional<Salary> salaryOpt = salaryRepository.findById(salaryId);
         if (salaryOpt.isPresent()) {
             Salary salary = salaryOpt.get();
+            if (expectedVersion != null && !expectedVersion.equals(salary.getVersion())) {
+                throw new PreconditionFailedException("Payroll record " + salaryId + " is at version "
+                        + salary.getVersion() + ", not " + expectedVersion + "; reload it and try again");
+            }
+            PayrollStatus previousStatus = salary.getStatus();
+            if (previousStatus == newStatus) {
+                return salary;
+            }
+            checkTransition(previousStatus, newStatus);
             salary.setStatus(newStatus);
-            return salaryRepository.save(salary);
+            Salary saved = salaryRepository.save(salary);
+            payrollAggregateService.recordStatusChange(saved, previousStatus);
+            return saved;
         } else {
             throw new RuntimeException("Salary record not found with ID: " + salaryId);
         }
     }
     
+    // Move every payroll record of a pay period from one status to another with one UPDATE; returns the count.
+    // Records that are in another status are left alone, so re-sending the same request updates nothing.
+    @Transactional
+    public int transitionPayrollStatus(LocalDate payPeriod, PayrollStatus fromStatus, PayrollStatus toStatus) {
+        if (payPeriod == null || fromStatus == null || toStatus == null) {
+            throw new RuntimeException("Pay period, current status and new status are required");
+        }
+        checkTransition(fromStatus, toStatus);
+        int updated = salaryRepository.updateStatusByPayPeriod(payPeriod, fromStatus, toStatus);
+        if (updated > 0) {
+            payrollAggregateService.recordPayPeriodStatusChange(payPeriod, fromStatus, toStatus);
+        }
+        return updated;
+    }
+
+    private void checkTransition(PayrollStatus fromStatus, PayrollStatus toStatus) {
+        if (!fromStatus.canTransitionTo(toStatus)) {
+            throw new RuntimeException("Payroll status cannot change from " + fromStatus + " to " + toStatus);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<Salary> getPayrollsByEmployeeAndStatus(String employeeCode, PayrollStatus status) {
         return salaryRepository.findByEmployeeCodeAndStatus(employeeCode, status);
     }
     
-    // Business logic validation
-    private void validateSalaryData(Salary salary) {
+    // Business logic validation (amounts in minor units; net is basic + allowances - deductions by construction)
+    private void validateSalaryData(LocalDate payPeriod, long basic, long allowances, long deductions) {
         // Validate pay period is not too far in the past (e.g., not older than 2 years)
-        if (salary.getPayPeriod() != null) {
+        if (payPeriod != null) {
             java.time.LocalDate twoYearsAgo = java.time.LocalDate.now().minusYears(2);
-            if (salary.getPayPeriod().isBefore(twoYearsAgo)) {
+            if (payPeriod.isBefore(twoYearsAgo)) {
                 throw new RuntimeException("Pay period cannot be older than 2 years");
             }
         }
         
-        // Validate salary components consistency
-        if (salary.getBasicSalary() != null && salary.getAllowances() != null && salary.getDeductions() != null) {
-            double calculatedNet = salary.getBasicSalary() + salary.getAllowances() - salary.getDeductions();
-            if (salary.getNetSalary() != null && Math.abs(salary.getNetSalary() - calculatedNet) > 0.01) {
-                throw new RuntimeException("Net salary calculation is incorrect. Expected: " + calculatedNet + ", but got: " + salary.getNetSalary());
-            }
-        }
-        
         // Validate allowances don't exceed basic salary by more than 100%
-        if (salary.getBasicSalary() != null && salary.getAllowances() != null) {
-            if (salary.getAllowances() > salary.getBasicSalary()) {
-                throw new RuntimeException("Allowances cannot exceed basic salary");
-            }
+        if (allowances > basic) {
+            throw new RuntimeException("Allowances cannot exceed basic salary");
         }
         
         // Validate deductions don't exceed total of basic salary + allowances
-        if (salary.getBasicSalary() != null && salary.getAllowances() != null && salary.getDeductions() != null) {
-            double totalEarnings = salary.getBasicSalary() + salary.getAllowances();
-            if (salary.getDeductions() > totalEarnings) {
-                throw new RuntimeException("Deductions cannot exceed total earnings (basic + allowances)");
-            }
+        if (deductions > basic + allowances) {
+            throw new RuntimeException("Deductions cannot exceed total earnings (basic + allowances)");
         }
     }
-}
\ No newline at end of file
+}
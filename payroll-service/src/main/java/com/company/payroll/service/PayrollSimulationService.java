@@ -0,0 +1,137 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.EmployeeDTO;
+import com.company.payroll.dto.PayrollSimulationRequest;
+import com.company.payroll.dto.PayrollSimulationResult;
+import com.company.payroll.dto.PayrollSimulationResult.DepartmentTotals;
+import com.company.payroll.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What-if payroll: calculates the whole roster in memory from the local employee replica with hypothetical
+ * raises (and optionally another rule set), and returns totals by department next to today's figures.
+ * Nothing is written and employee-service is not called per employee.
+ */
+@Service
+public class PayrollSimulationService {
+
+    private static final String UNASSIGNED = "Unassigned";
+
+    @Autowired
+    private EmployeeRosterReplica employeeRosterReplica;
+
+    @Autowired
+    private ColumnarPayrollCalculator columnarCalculator;
+
+    @Autowired
+    private PayRuleEngine payRuleEngine;
+
+    public PayrollSimulationResult simulate(PayrollSimulationRequest request) {
+        long startNanos = System.nanoTime();
+        // Without the replica every simulation would download the whole roster from employee-service
+        if (!employeeRosterReplica.isEnabled()) {
+            throw new RuntimeException("Payroll simulations need the employee roster replica (payroll.roster-replica.enabled=true)");
+        }
+        if (!employeeRosterReplica.isReady()) {
+            // First use with the replica not loaded yet: load it once, later calls pull only changes
+            employeeRosterReplica.sync();
+        }
+        List<EmployeeDTO> roster = employeeRosterReplica.snapshot();
+
+        PayRulePlan currentRules = payRuleEngine.getPlan();
+        PayRulePlan simulatedRules = payRuleEngine.compileRuleSet(request.getRuleSet());
+        List<PayrollSimulationRequest.Adjustment> adjustments =
+                request.getAdjustments() != null ? request.getAdjustments() : List.of();
+        adjustments.forEach(PayrollSimulationService::checkAdjustment);
+
+        // No pay period: the simulation is not tied to a month, so the period age check does not apply
+        PayrollColumns current = columnarCalculator.calculate(roster, null, currentRules);
+        PayrollColumns simulated = columnarCalculator.calculate(roster, null, simulatedRules,
+                (employee, basicMinor) -> basicMinor + Money.percentOf(basicMinor, raiseBasisPoints(adjustments, employee)));
+
+        Map<String, Totals> byDepartment = new TreeMap<>();
+        Totals overall = new Totals();
+        for (int row = 0; row < simulated.size(); row++) {
+            String department = simulated.getDepartment(row) != null ? simulated.getDepartment(row) : UNASSIGNED;
+            Totals totals = byDepartment.computeIfAbsent(department, d -> new Totals());
+            totals.add(simulated, current, row);
+            overall.add(simulated, current, row);
+        }
+
+        List<DepartmentTotals> departments = new ArrayList<>(byDepartment.size());
+        byDepartment.forEach((department, totals) -> departments.add(totals.toDto(department)));
+
+        return new PayrollSimulationResult(simulatedRules.getRuleSet(), employeeRosterReplica.getVersion(),
+                (System.nanoTime() - startNanos) / 1_000_000, overall.toDto("All"), departments);
+    }
+
+    private static long raiseBasisPoints(List<PayrollSimulationRequest.Adjustment> adjustments, EmployeeDTO employee) {
+        for (PayrollSimulationRequest.Adjustment adjustment : adjustments) {
+            if (matches(adjustment.getDepartment(), employee.getDepartment())
+                    && matches(adjustment.getPosition(), employee.getPosition())) {
+                return Math.round(adjustment.getRaisePercent() * 100);
+            }
+        }
+        return 0;
+    }
+
+    // A cut of 100% or more would leave a zero or negative basic salary
+    private static void checkAdjustment(PayrollSimulationRequest.Adjustment adjustment) {
+        if (adjustment == null || !Double.isFinite(adjustment.getRaisePercent()) || adjustment.getRaisePercent() <= -100) {
+            throw new RuntimeException("Raise percent must be a number greater than -100");
+        }
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isBlank() || filter.equals(value);
+    }
+
+    // Running sums in minor units; employees that fail validation (or would be left without a positive
+    // basic salary) are counted but not totalled. The comparison with today only uses employees valid in both.
+    private static final class Totals {
+        private int employees;
+        private int failed;
+        private long basic;
+        private long allowances;
+        private long deductions;
+        private long net;
+        private long currentNet;
+        private long netChange;
+
+        void add(PayrollColumns simulated, PayrollColumns current, int row) {
+            employees++;
+            if (!simulated.isValid(row) || simulated.getBasic(row) <= 0) {
+                failed++;
+                return;
+            }
+            basic += simulated.getBasic(row);
+            allowances += simulated.getAllowances(row);
+            deductions += simulated.getDeductions(row);
+            net += simulated.getNet(row);
+            if (current.isValid(row)) {
+                currentNet += current.getNet(row);
+                netChange += simulated.getNet(row) - current.getNet(row);
+            }
+        }
+
+        DepartmentTotals toDto(String department) {
+            DepartmentTotals dto = new DepartmentTotals();
+            dto.setDepartment(department);
+            dto.setEmployees(employees);
+            dto.setFailed(failed);
+            dto.setBasic(Money.toMajor(basic));
+            dto.setAllowances(Money.toMajor(allowances));
+            dto.setDeductions(Money.toMajor(deductions));
+            dto.setNet(Money.toMajor(net));
+            dto.setCurrentNet(Money.toMajor(currentNet));
+            dto.setNetChange(Money.toMajor(netChange));
+            return dto;
+        }
+    }
+}
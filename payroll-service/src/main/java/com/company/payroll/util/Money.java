@@ -0,0 +1,53 @@
+package com.company.payroll.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a long count of minor units (cents). Payroll arithmetic is done on these so results are exact
+ * and no boxed values are created; amounts are converted from/to the Double entity fields once at the edges.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_MAJOR = 100;
+    private static final long BASIS_POINTS = 10_000;
+    // Below 2^52 a double still has fraction bits to tell where the half lies
+    private static final double MAX_EXACT_SCALED = 0x1p52;
+
+    private Money() {}
+
+    // Nearest minor unit to a decimal amount (half-up on its shortest decimal representation). Runs once
+    // per amount on the payslip paths, so it rounds the scaled double directly and only falls back to
+    // BigDecimal when the product lies within rounding error of a half (e.g. 1.005) or is too large.
+    public static long toMinor(double amount) {
+        double scaled = Math.abs(amount * MINOR_PER_MAJOR);
+        double whole = Math.floor(scaled);
+        double fraction = scaled - whole;
+        // The shortest decimal form of amount, times 100, is within 1.5 ulp of scaled; 4 ulp keeps clear of it
+        if (scaled < MAX_EXACT_SCALED && Math.abs(fraction - 0.5) > 4 * Math.ulp(scaled)) {
+            long minor = (long) whole + (fraction > 0.5 ? 1 : 0);
+            return amount < 0 ? -minor : minor;
+        }
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static double toMajor(long minor) {
+        return minor / (double) MINOR_PER_MAJOR;
+    }
+
+    // amount * basisPoints / 10000, rounded half-up (away from zero), e.g. 2000 bp = 20%
+    public static long percentOf(long minor, long basisPoints) {
+        return divideHalfUp(Math.multiplyExact(minor, basisPoints), BASIS_POINTS);
+    }
+
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        // Compared without doubling the remainder, which could overflow for divisors above Long.MAX_VALUE / 2
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
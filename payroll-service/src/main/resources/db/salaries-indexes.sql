@@ -0,0 +1,24 @@
+-- Indexes and unique key for the salaries table (MySQL, payroll_db).
+-- Matches the @Table declaration on Salary. Hibernate's ddl-auto=update also adds missing indexes to an
+-- existing table, but its ALTER for the unique key fails (and is only logged) while duplicate rows exist.
+-- On an existing database, clean up the duplicates and run this script by hand once.
+
+-- 1. The unique key cannot be created while duplicates exist. List them first:
+SELECT employee_code, pay_period, COUNT(*) AS copies, MIN(id) AS keep_id
+FROM salaries
+GROUP BY employee_code, pay_period
+HAVING COUNT(*) > 1;
+
+-- After reviewing the rows above, remove the extra copies (keeps the oldest record):
+-- DELETE s FROM salaries s
+-- JOIN salaries k ON k.employee_code = s.employee_code AND k.pay_period = s.pay_period AND k.id < s.id;
+
+-- 2. Unique key; its (employee_code, pay_period) prefix also serves lookups by employee_code
+ALTER TABLE salaries
+    ADD CONSTRAINT uk_salaries_employee_code_pay_period UNIQUE (employee_code, pay_period);
+
+-- 3. Secondary indexes for the SalaryRepository queries
+CREATE INDEX idx_salaries_employee_id ON salaries (employee_id);
+CREATE INDEX idx_salaries_employee_code_status ON salaries (employee_code, status);
+CREATE INDEX idx_salaries_pay_period_status ON salaries (pay_period, status);
+CREATE INDEX idx_salaries_status ON salaries (status);
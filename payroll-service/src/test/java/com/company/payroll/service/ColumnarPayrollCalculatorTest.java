@@ -0,0 +1,145 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.EmployeeDTO;
+import com.company.payroll.entity.PayRule;
+import com.company.payroll.entity.Salary;
+import com.company.payroll.enums.PayComponent;
+import com.company.payroll.enums.PayRuleType;
+import com.company.payroll.repository.SalaryJdbcRepository;
+import com.company.payroll.repository.SalaryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ColumnarPayrollCalculatorTest {
+
+    private static final LocalDate PAY_PERIOD = LocalDate.now().withDayOfMonth(1);
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "HR", null};
+    private static final String[] POSITIONS = {"Engineer", "Manager", "Intern", null};
+
+    @Test
+    void matchesGeneratePayrollWithDefaultRates() {
+        assertMatchesScalar(PayRulePlan.defaults("default", 2000, 1000), randomRoster(2000, 1L));
+    }
+
+    @Test
+    void matchesGeneratePayrollWithDepartmentRulesSlabsAndCaps() {
+        List<PayRule> rules = List.of(
+                rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, null, null, 1500L, null, null, null, null),
+                rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, "Engineering", null, 833L, null, null, null, 4000.0),
+                rule(PayComponent.ALLOWANCE, PayRuleType.FIXED_AMOUNT, null, "Manager", null, 1250.55, null, null, null),
+                rule(PayComponent.DEDUCTION, PayRuleType.SLAB, null, null, 500L, null, 10000.0, 50000.0, null),
+                rule(PayComponent.DEDUCTION, PayRuleType.SLAB, null, null, 3000L, null, 50000.0, null, 90000.0),
+                rule(PayComponent.DEDUCTION, PayRuleType.FIXED_AMOUNT, "Sales", "Intern", null, 99.99, null, null, null));
+        assertMatchesScalar(PayRulePlan.compile("test", rules), randomRoster(5000, 2L));
+    }
+
+    @Test
+    void reportsTheSameErrorsAsGeneratePayroll() {
+        // A fixed allowance larger than a small basic salary fails validation in both paths
+        List<PayRule> rules = List.of(
+                rule(PayComponent.ALLOWANCE, PayRuleType.FIXED_AMOUNT, null, null, null, 5000.0, null, null, null));
+        List<EmployeeDTO> roster = new ArrayList<>(randomRoster(200, 3L));
+        roster.add(employee(9001L, "EMP9001", "HR", null, null));
+        roster.add(employee(9002L, " ", "HR", null, 1000.0));
+        assertMatchesScalar(PayRulePlan.compile("test", rules), roster);
+    }
+
+    private static void assertMatchesScalar(PayRulePlan plan, List<EmployeeDTO> roster) {
+        PayRuleEngine payRuleEngine = mock(PayRuleEngine.class);
+        when(payRuleEngine.getPlan()).thenReturn(plan);
+        SalaryRepository salaryRepository = mock(SalaryRepository.class);
+        when(salaryRepository.save(any(Salary.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        PayrollService payrollService = new PayrollService(salaryRepository, mock(EmployeeServiceClient.class),
+                mock(SalaryJdbcRepository.class), payRuleEngine, mock(PayrollAggregateService.class));
+
+        PayrollColumns columns = new ColumnarPayrollCalculator().calculate(roster, PAY_PERIOD, plan);
+        assertEquals(roster.size(), columns.size());
+
+        for (int row = 0; row < roster.size(); row++) {
+            EmployeeDTO employee = roster.get(row);
+            Salary salary = new Salary();
+            salary.setEmployeeId(employee.getId());
+            salary.setEmployeeCode(employee.getEmployeeCode());
+            salary.setPayPeriod(PAY_PERIOD);
+
+            if (!columns.isValid(row)) {
+                RuntimeException error = assertThrows(RuntimeException.class,
+                        () -> payrollService.generatePayroll(salary, employee));
+                assertEquals(error.getMessage(), columns.getError(row), "error for " + employee.getEmployeeCode());
+                continue;
+            }
+
+            Salary expected;
+            try {
+                expected = payrollService.generatePayroll(salary, employee);
+            } catch (RuntimeException e) {
+                fail("generatePayroll failed for " + employee.getEmployeeCode() + " but the columnar result is valid: " + e.getMessage());
+                return;
+            }
+            Salary actual = columns.toSalary(row, PAY_PERIOD);
+            assertSameBits(expected.getBasicSalary(), actual.getBasicSalary(), "basic", employee);
+            assertSameBits(expected.getAllowances(), actual.getAllowances(), "allowances", employee);
+            assertSameBits(expected.getDeductions(), actual.getDeductions(), "deductions", employee);
+            assertSameBits(expected.getNetSalary(), actual.getNetSalary(), "net", employee);
+            assertEquals(expected.getEmployeeId(), actual.getEmployeeId());
+            assertEquals(expected.getEmployeeCode(), actual.getEmployeeCode());
+            assertEquals(expected.getPayPeriod(), actual.getPayPeriod());
+            assertEquals(expected.getDepartment(), actual.getDepartment());
+        }
+    }
+
+    private static void assertSameBits(Double expected, Double actual, String field, EmployeeDTO employee) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                field + " for " + employee.getEmployeeCode() + ": expected " + expected + " but was " + actual);
+    }
+
+    private static List<EmployeeDTO> randomRoster(int size, long seed) {
+        Random random = new Random(seed);
+        List<EmployeeDTO> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Cents chosen at random, including awkward values such as x.x5 that round differently in binary
+            double basic = random.nextInt(100_000_000) / 100.0 + 0.01;
+            roster.add(employee((long) i + 1, "EMP" + (i + 1),
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], POSITIONS[random.nextInt(POSITIONS.length)], basic));
+        }
+        return roster;
+    }
+
+    private static EmployeeDTO employee(Long id, String code, String department, String position, Double basicSalary) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(id);
+        employee.setEmployeeCode(code);
+        employee.setDepartment(department);
+        employee.setPosition(position);
+        employee.setBasicSalary(basicSalary);
+        return employee;
+    }
+
+    private static PayRule rule(PayComponent component, PayRuleType type, String department, String position,
+                                Long rateBasisPoints, Double amount, Double slabFrom, Double slabTo, Double cap) {
+        PayRule rule = new PayRule();
+        rule.setRuleSet("test");
+        rule.setComponent(component);
+        rule.setType(type);
+        rule.setDepartment(department);
+        rule.setPosition(position);
+        rule.setRateBasisPoints(rateBasisPoints);
+        rule.setAmount(amount);
+        rule.setSlabFrom(slabFrom);
+        rule.setSlabTo(slabTo);
+        rule.setCap(cap);
+        return rule;
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.payroll.service;
+
+import com.company.payroll.entity.PayRule;
+import com.company.payroll.enums.PayComponent;
+import com.company.payroll.enums.PayRuleType;
+import com.company.payroll.repository.PayRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PayRulePlanTest {
+
+    @Test
+    void rejectsNegativeFigures() {
+        assertRejected(rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, -500L, null, null, null, null), "negative rate");
+        assertRejected(rule(PayComponent.DEDUCTION, PayRuleType.FIXED_AMOUNT, null, -100.0, null, null, null), "negative amount");
+        assertRejected(rule(PayComponent.DEDUCTION, PayRuleType.SLAB, 1000L, null, -1.0, 5000.0, null), "negative slab start");
+        assertRejected(rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, 1000L, null, null, null, -50.0), "negative cap");
+        assertRejected(rule(PayComponent.ALLOWANCE, PayRuleType.FIXED_AMOUNT, null, Double.NaN, null, null, null), "negative amount");
+    }
+
+    @Test
+    void rejectsIncompleteAndInvertedRules() {
+        assertRejected(rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, null, null, null, null, null), "incomplete");
+        assertRejected(rule(PayComponent.DEDUCTION, PayRuleType.SLAB, 1000L, null, 5000.0, 1000.0, null), "incomplete");
+        assertRejected(rule(null, PayRuleType.FIXED_AMOUNT, null, 10.0, null, null, null), "needs a component");
+    }
+
+    @Test
+    void rejectedRuleSetIsNotWrittenOrSwappedIn() {
+        PayRuleRepository repository = mock(PayRuleRepository.class);
+        PayRuleEngine engine = new PayRuleEngine();
+        ReflectionTestUtils.setField(engine, "payRuleRepository", repository);
+        ReflectionTestUtils.setField(engine, "activeRuleSet", "default");
+        // No rules stored yet: the engine starts on the configured flat rates
+        engine.init();
+        PayRulePlan active = engine.getPlan();
+
+        PayRule valid = rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, 1500L, null, null, null, null);
+        PayRule negative = rule(PayComponent.DEDUCTION, PayRuleType.FIXED_AMOUNT, null, -250.0, null, null, null);
+        // Disabled rules are checked too: they can be enabled later without going through this check
+        negative.setEnabled(false);
+
+        assertThrows(RuntimeException.class, () -> engine.replaceRules("default", List.of(valid, negative)));
+        verify(repository, never()).deleteByRuleSet(any());
+        verify(repository, never()).saveAll(anyList());
+        assertSame(active, engine.getPlan());
+    }
+
+    @Test
+    void acceptsZeroFigures() {
+        PayRulePlan plan = PayRulePlan.compile("test", List.of(
+                rule(PayComponent.ALLOWANCE, PayRuleType.PERCENT_OF_BASIC, 0L, null, null, null, 0.0),
+                rule(PayComponent.DEDUCTION, PayRuleType.SLAB, 1000L, null, 0.0, null, null)));
+        assertEquals(0, plan.allowances(null, null, 500_000));
+        assertEquals(5_000, plan.deductions(null, null, 50_000));
+    }
+
+    private static void assertRejected(PayRule rule, String reason) {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> PayRulePlan.compile("test", List.of(rule)));
+        assertTrue(error.getMessage().contains(reason), error.getMessage());
+    }
+
+    private static PayRule rule(PayComponent component, PayRuleType type, Long rateBasisPoints, Double amount,
+                                Double slabFrom, Double slabTo, Double cap) {
+        PayRule rule = new PayRule();
+        rule.setRuleSet("test");
+        rule.setComponent(component);
+        rule.setType(type);
+        rule.setRateBasisPoints(rateBasisPoints);
+        rule.setAmount(amount);
+        rule.setSlabFrom(slabFrom);
+        rule.setSlabTo(slabTo);
+        rule.setCap(cap);
+        return rule;
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.EmployeeDTO;
+import com.company.payroll.dto.PayrollSimulationRequest;
+import com.company.payroll.dto.PayrollSimulationResult;
+import com.company.payroll.entity.PayRule;
+import com.company.payroll.enums.PayComponent;
+import com.company.payroll.enums.PayRuleType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PayrollSimulationServiceTest {
+
+    // A fixed 500.00 allowance: employees earning less than that fail "Allowances cannot exceed basic salary"
+    private static final PayRulePlan PLAN = PayRulePlan.compile("test", List.of(fixedAllowance(500.0)));
+
+    private final EmployeeRosterReplica replica = mock(EmployeeRosterReplica.class);
+    private final PayrollSimulationService simulationService = new PayrollSimulationService();
+
+    PayrollSimulationServiceTest() {
+        PayRuleEngine payRuleEngine = mock(PayRuleEngine.class);
+        when(payRuleEngine.getPlan()).thenReturn(PLAN);
+        when(payRuleEngine.compileRuleSet(any())).thenReturn(PLAN);
+        when(replica.isEnabled()).thenReturn(true);
+        when(replica.isReady()).thenReturn(true);
+        ReflectionTestUtils.setField(simulationService, "employeeRosterReplica", replica);
+        ReflectionTestUtils.setField(simulationService, "columnarCalculator", new ColumnarPayrollCalculator());
+        ReflectionTestUtils.setField(simulationService, "payRuleEngine", payRuleEngine);
+    }
+
+    @Test
+    void netChangeOnlyComparesEmployeesValidInBothRuns() {
+        when(replica.snapshot()).thenReturn(List.of(
+                employee(1L, "EMP1", 400.0),     // invalid today, 600 + 500 after the raise
+                employee(2L, "EMP2", 1000.0)));  // 1500 today, 2000 after the raise
+
+        PayrollSimulationResult.DepartmentTotals total = simulationService.simulate(raise(50)).getTotal();
+
+        assertEquals(2, total.getEmployees());
+        assertEquals(0, total.getFailed());
+        assertEquals(3100.0, total.getNet());
+        assertEquals(1500.0, total.getCurrentNet());
+        assertEquals(500.0, total.getNetChange());
+    }
+
+    @Test
+    void rejectsCutsOfAHundredPercentOrMore() {
+        when(replica.snapshot()).thenReturn(List.of(employee(1L, "EMP1", 1000.0)));
+
+        assertThrows(RuntimeException.class, () -> simulationService.simulate(raise(-100)));
+        assertThrows(RuntimeException.class, () -> simulationService.simulate(raise(-250)));
+        assertThrows(RuntimeException.class, () -> simulationService.simulate(raise(Double.NaN)));
+    }
+
+    @Test
+    void countsEmployeesLeftWithoutBasicSalaryAsFailed() {
+        // 0.01 cut by 99.9% rounds to a basic of zero
+        when(replica.snapshot()).thenReturn(List.of(employee(1L, "EMP1", 0.01)));
+        PayRuleEngine noRules = mock(PayRuleEngine.class);
+        PayRulePlan empty = PayRulePlan.compile("empty", List.of());
+        when(noRules.getPlan()).thenReturn(empty);
+        when(noRules.compileRuleSet(any())).thenReturn(empty);
+        ReflectionTestUtils.setField(simulationService, "payRuleEngine", noRules);
+
+        PayrollSimulationResult.DepartmentTotals total = simulationService.simulate(raise(-99.9)).getTotal();
+
+        assertEquals(1, total.getFailed());
+        assertEquals(0.0, total.getNet());
+        assertEquals(0.0, total.getNetChange());
+    }
+
+    private static PayrollSimulationRequest raise(double percent) {
+        PayrollSimulationRequest.Adjustment adjustment = new PayrollSimulationRequest.Adjustment();
+        adjustment.setRaisePercent(percent);
+        PayrollSimulationRequest request = new PayrollSimulationRequest();
+        request.setAdjustments(List.of(adjustment));
+        return request;
+    }
+
+    private static EmployeeDTO employee(Long id, String code, Double basicSalary) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(id);
+        employee.setEmployeeCode(code);
+        employee.setDepartment("Engineering");
+        employee.setBasicSalary(basicSalary);
+        return employee;
+    }
+
+    private static PayRule fixedAllowance(double amount) {
+        PayRule rule = new PayRule();
+        rule.setRuleSet("test");
+        rule.setComponent(PayComponent.ALLOWANCE);
+        rule.setType(PayRuleType.FIXED_AMOUNT);
+        rule.setAmount(amount);
+        return rule;
+    }
+}
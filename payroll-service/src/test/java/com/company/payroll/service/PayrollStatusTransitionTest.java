@@ -0,0 +1,91 @@
+package com.company.payroll.service;
+
+import com.company.payroll.entity.Salary;
+import com.company.payroll.enums.PayrollStatus;
+import com.company.payroll.repository.SalaryJdbcRepository;
+import com.company.payroll.repository.SalaryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.company.payroll.enums.PayrollStatus.APPROVED;
+import static com.company.payroll.enums.PayrollStatus.CANCELLED;
+import static com.company.payroll.enums.PayrollStatus.DRAFT;
+import static com.company.payroll.enums.PayrollStatus.PAID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PayrollStatusTransitionTest {
+
+    private static final LocalDate PAY_PERIOD = LocalDate.of(2026, 9, 1);
+
+    private final SalaryRepository salaryRepository = mock(SalaryRepository.class);
+    private final PayrollAggregateService payrollAggregateService = mock(PayrollAggregateService.class);
+    private final PayrollService payrollService = new PayrollService(salaryRepository, mock(EmployeeServiceClient.class),
+            mock(SalaryJdbcRepository.class), mock(PayRuleEngine.class), payrollAggregateService);
+
+    @Test
+    void allowsOnlyForwardTransitions() {
+        assertAllowed(DRAFT, Set.of(APPROVED, CANCELLED));
+        assertAllowed(APPROVED, Set.of(PAID, CANCELLED));
+        assertAllowed(PAID, Set.of());
+        assertAllowed(CANCELLED, Set.of());
+    }
+
+    @Test
+    void bulkTransitionUpdatesThePayPeriodAndItsAggregates() {
+        when(salaryRepository.updateStatusByPayPeriod(PAY_PERIOD, DRAFT, APPROVED)).thenReturn(42);
+
+        assertEquals(42, payrollService.transitionPayrollStatus(PAY_PERIOD, DRAFT, APPROVED));
+        verify(payrollAggregateService).recordPayPeriodStatusChange(PAY_PERIOD, DRAFT, APPROVED);
+    }
+
+    @Test
+    void bulkTransitionWithNothingToMoveLeavesAggregatesAlone() {
+        when(salaryRepository.updateStatusByPayPeriod(PAY_PERIOD, APPROVED, PAID)).thenReturn(0);
+
+        assertEquals(0, payrollService.transitionPayrollStatus(PAY_PERIOD, APPROVED, PAID));
+        verify(payrollAggregateService, never()).recordPayPeriodStatusChange(any(), any(), any());
+    }
+
+    @Test
+    void refusesIllegalBulkTransitionsWithoutTouchingSalaries() {
+        for (PayrollStatus from : PayrollStatus.values()) {
+            for (PayrollStatus to : PayrollStatus.values()) {
+                if (from.canTransitionTo(to)) {
+                    continue;
+                }
+                RuntimeException error = assertThrows(RuntimeException.class,
+                        () -> payrollService.transitionPayrollStatus(PAY_PERIOD, from, to));
+                assertEquals("Payroll status cannot change from " + from + " to " + to, error.getMessage());
+            }
+        }
+        verify(salaryRepository, never()).updateStatusByPayPeriod(any(), any(), any());
+        verify(payrollAggregateService, never()).recordPayPeriodStatusChange(any(), any(), any());
+    }
+
+    @Test
+    void refusesIllegalSingleTransitionWithoutSaving() {
+        Salary salary = new Salary();
+        salary.setStatus(PAID);
+        when(salaryRepository.findById(anyLong())).thenReturn(Optional.of(salary));
+
+        assertThrows(RuntimeException.class, () -> payrollService.updatePayrollStatus(1L, DRAFT));
+        verify(salaryRepository, never()).save(any());
+        verify(payrollAggregateService, never()).recordStatusChange(any(), any());
+    }
+
+    private static void assertAllowed(PayrollStatus from, Set<PayrollStatus> allowed) {
+        for (PayrollStatus to : PayrollStatus.values()) {
+            assertEquals(allowed.contains(to), from.canTransitionTo(to), from + " -> " + to);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.payroll.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.DoubleToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Microbenchmark for Money.toMinor against the BigDecimal conversion it replaced. Opt-in, as timings depend
+// on the machine: mvn test -Dtest=MoneyBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MoneyBenchmarkTest {
+
+    private static final int AMOUNTS = 100_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Test
+    void toMinorAllocatesLessThanBigDecimal() {
+        // Salary-like amounts with cents, as the payslip paths convert them
+        Random random = new Random(42L);
+        double[] amounts = new double[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = random.nextInt(100_000_000) / 100.0;
+        }
+
+        Result bigDecimal = measure("BigDecimal.valueOf", amounts, MoneyTest::referenceToMinor);
+        Result money = measure("Money.toMinor", amounts, Money::toMinor);
+
+        System.out.printf("toMinor speed-up %.1fx, allocation %.1f -> %.1f bytes/op%n",
+                bigDecimal.nanosPerOp() / money.nanosPerOp(), bigDecimal.bytesPerOp(), money.bytesPerOp());
+        assertTrue(money.bytesPerOp() < bigDecimal.bytesPerOp());
+    }
+
+    private static Result measure(String name, double[] amounts, DoubleToLongFunction toMinor) {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += run(amounts, toMinor);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += run(amounts, toMinor);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        long ops = (long) amounts.length * MEASURED_ROUNDS;
+        Result result = new Result(elapsed / (double) ops, bytes / (double) ops);
+        System.out.printf("%-20s %8.1f ns/op %8.1f bytes/op (checksum %d)%n",
+                name, result.nanosPerOp(), result.bytesPerOp(), sink);
+        return result;
+    }
+
+    private static long run(double[] amounts, DoubleToLongFunction toMinor) {
+        long sum = 0;
+        for (double amount : amounts) {
+            sum += toMinor.applyAsLong(amount);
+        }
+        return sum;
+    }
+
+    private record Result(double nanosPerOp, double bytesPerOp) {}
+}
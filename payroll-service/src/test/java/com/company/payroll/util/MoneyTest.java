@@ -0,0 +1,108 @@
+package com.company.payroll.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void toMinorRoundsHalfUpOnTheDecimalValue() {
+        assertEquals(1, Money.toMinor(0.005));
+        assertEquals(0, Money.toMinor(0.0049));
+        // 1.005 and 2.675 are slightly below the half as binary doubles, but round on their decimal form
+        assertEquals(101, Money.toMinor(1.005));
+        assertEquals(268, Money.toMinor(2.675));
+        assertEquals(123456789, Money.toMinor(1234567.885));
+    }
+
+    @Test
+    void toMinorMatchesBigDecimalRounding() {
+        Random random = new Random(17L);
+        for (int i = 0; i < 1_000_000; i++) {
+            double amount = switch (i % 4) {
+                // Exact cents, half cents and arbitrary doubles across payroll-sized magnitudes
+                case 0 -> random.nextInt(100_000_000) / 100.0;
+                case 1 -> (random.nextInt(100_000_000) + 0.5) / 100.0;
+                case 2 -> random.nextDouble() * 1_000_000;
+                default -> (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16));
+            };
+            assertEquals(referenceToMinor(amount), Money.toMinor(amount), "toMinor(" + amount + ")");
+        }
+    }
+
+    @Test
+    void toMinorRoundsNegativeHalvesAwayFromZero() {
+        assertEquals(-1, Money.toMinor(-0.005));
+        assertEquals(-101, Money.toMinor(-1.005));
+        assertEquals(0, Money.toMinor(-0.004));
+    }
+
+    @Test
+    void toMinorRejectsAmountsBeyondLongRange() {
+        assertEquals(9_000_000_000_000_000_000L, Money.toMinor(9.0e16));
+        assertThrows(ArithmeticException.class, () -> Money.toMinor(1.0e17));
+        assertThrows(ArithmeticException.class, () -> Money.toMinor(-1.0e17));
+    }
+
+    @Test
+    void toMinorRejectsNonFiniteAmounts() {
+        assertThrows(NumberFormatException.class, () -> Money.toMinor(Double.NaN));
+        assertThrows(NumberFormatException.class, () -> Money.toMinor(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void toMajorIsTheInverseOfToMinor() {
+        assertEquals(1234.56, Money.toMajor(Money.toMinor(1234.56)));
+        assertEquals(-0.01, Money.toMajor(-1));
+    }
+
+    @Test
+    void percentOfRoundsHalfUpAwayFromZero() {
+        // 5 cents at 10% is 0.5 cents
+        assertEquals(1, Money.percentOf(5, 1000));
+        assertEquals(0, Money.percentOf(4, 1000));
+        assertEquals(-1, Money.percentOf(-5, 1000));
+        assertEquals(0, Money.percentOf(-4, 1000));
+        assertEquals(20_000, Money.percentOf(100_000, 2000));
+    }
+
+    @Test
+    void percentOfFailsInsteadOfOverflowing() {
+        long largest = Long.MAX_VALUE / 10_000;
+        assertEquals(largest, Money.percentOf(largest, 10_000));
+        assertThrows(ArithmeticException.class, () -> Money.percentOf(largest + 1, 10_000));
+        assertThrows(ArithmeticException.class, () -> Money.percentOf(Long.MIN_VALUE / 2, 10_000));
+    }
+
+    @Test
+    void divideHalfUpRoundsHalvesAwayFromZero() {
+        assertEquals(3, Money.divideHalfUp(5, 2));
+        assertEquals(-3, Money.divideHalfUp(-5, 2));
+        assertEquals(-3, Money.divideHalfUp(5, -2));
+        assertEquals(3, Money.divideHalfUp(-5, -2));
+        assertEquals(1, Money.divideHalfUp(4, 3));
+        assertEquals(2, Money.divideHalfUp(5, 3));
+        assertEquals(-1, Money.divideHalfUp(-4, 3));
+    }
+
+    @Test
+    void divideHalfUpNearLongRange() {
+        assertEquals(Long.MAX_VALUE / 2 + 1, Money.divideHalfUp(Long.MAX_VALUE, 2));
+        assertEquals(Long.MIN_VALUE / 2, Money.divideHalfUp(Long.MIN_VALUE, 2));
+        // Remainders above Long.MAX_VALUE / 2 must not overflow the half-way comparison
+        assertEquals(1, Money.divideHalfUp(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+        assertEquals(0, Money.divideHalfUp(Long.MAX_VALUE / 2, Long.MAX_VALUE));
+        assertEquals(-1, Money.divideHalfUp(-(Long.MAX_VALUE - 1), Long.MAX_VALUE));
+    }
+
+    // The BigDecimal rounding toMinor must agree with
+    static long referenceToMinor(double amount) {
+        return BigDecimal.valueOf(amount).setScale(Money.SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
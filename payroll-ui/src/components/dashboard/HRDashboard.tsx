@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { Salary, Employee } from '../../types/employee';
+import { Salary, Employee, PayrollSummary } from '../../types/employee';
 import { payrollAPI, employeeAPI } from '../../services/api';
 import { PayrollList, PayrollForm } from '../payroll';
 import './HRDashboard.css';
@@ -7,6 +7,7 @@ import './HRDashboard.css';
 const HRDashboard: React.FC = () => {
   const [salaries, setSalaries] = useState<Salary[]>([]);
   const [employees, setEmployees] = useState<Employee[]>([]);
+  const [summary, setSummary] = useState<PayrollSummary | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [showForm, setShowForm] = useState(false);
@@ -19,12 +20,14 @@ const HRDashboard: React.FC = () => {
   const loadData = async () => {
     try {
       setLoading(true);
-      const [salariesData, employeesData] = await Promise.all([
+      const [salariesData, employeesData, summaryData] = await Promise.all([
         payrollAPI.getAllSalaries(),
-        employeeAPI.getAllEmployees()
+        employeeAPI.getAllEmployees(),
+        payrollAPI.getPayrollSummary()
       ]);
       setSalaries(salariesData);
       setEmployees(employeesData);
+      setSummary(summaryData);
       setError('');
     } catch (err) {
       setError('Failed to load payroll data');
@@ -36,8 +39,13 @@ const HRDashboard: React.FC = () => {
   const handleBulkPayrollGeneration = async () => {
     try {
       setLoading(true);
-      const result = await payrollAPI.generateBulkPayroll();
-      alert(result);
+      // The run happens in the background; poll the job until it finishes
+      let job = await payrollAPI.generateBulkPayroll();
+      while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+        await new Promise(resolve => setTimeout(resolve, 2000));
+        job = await payrollAPI.getBulkPayrollJob(job.id);
+      }
+      alert(job.message || `Bulk payroll ${job.status.toLowerCase()}`);
       setRefreshTrigger(prev => prev + 1);
     } catch (err) {
       setError('Failed to generate bulk payroll');
@@ -46,6 +54,22 @@ const HRDashboard: React.FC = () => {
     }
   };
 
+  // Bulk status changes apply to the current month's pay period
+  const handleBulkStatusTransition = async (fromStatus: string, toStatus: string) => {
+    const now = new Date();
+    const payPeriod = `${now.getFullYear()}-${String(now.getMonth() + 1).padStart(2, '0')}-01`;
+    try {
+      setLoading(true);
+      const result = await payrollAPI.transitionPayrollStatus(payPeriod, fromStatus, toStatus);
+      alert(`${result.updated} payroll records for ${payPeriod} moved to ${toStatus}`);
+      setRefreshTrigger(prev => prev + 1);
+    } catch (err) {
+      setError('Failed to update payroll status');
+    } finally {
+      setLoading(false);
+    }
+  };
+
   const handleSalaryProcessed = () => {
     setShowForm(false);
     setRefreshTrigger(prev => prev + 1);
@@ -55,9 +79,12 @@ const HRDashboard: React.FC = () => {
     setRefreshTrigger(prev => prev + 1);
   };
 
-  const totalSalaries = salaries.reduce((sum, salary) => sum + (salary.netSalary || 0), 0);
-  const draftSalaries = salaries.filter(s => s.status === 'DRAFT').length;
-  const paidSalaries = salaries.filter(s => s.status === 'PAID').length;
+  // Stat cards come from the server-side aggregates instead of totalling the list here
+  const statusCount = (status: string) => summary?.byStatus.find(s => s.key === status)?.count || 0;
+  const totalRecords = summary?.total.count || 0;
+  const totalSalaries = summary?.total.net || 0;
+  const draftSalaries = statusCount('DRAFT');
+  const paidSalaries = statusCount('PAID');
 
   if (loading) {
     return (
@@ -73,7 +100,7 @@ const HRDashboard: React.FC = () => {
         <h1>Payroll Management</h1>
         <div className="dashboard-stats">
           <div className="stat-card">
-            <h3>{salaries.length}</h3>
+            <h3>{totalRecords}</h3>
             <p>Total Records</p>
           </div>
           <div className="stat-card draft">
@@ -107,6 +134,20 @@ const HRDashboard: React.FC = () => {
         >
           Generate Bulk Payroll
         </button>
+        <button
+          onClick={() => handleBulkStatusTransition('DRAFT', 'APPROVED')}
+          className="secondary-button"
+          disabled={loading || draftSalaries === 0}
+        >
+          Approve All Drafts
+        </button>
+        <button
+          onClick={() => handleBulkStatusTransition('APPROVED', 'PAID')}
+          className="secondary-button"
+          disabled={loading}
+        >
+          Pay All Approved
+        </button>
         <button
           onClick={loadData}
           className="secondary-button"
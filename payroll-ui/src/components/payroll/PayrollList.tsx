@@ -1,4 +1,5 @@
 import React, { useState } from 'react';
+import axios from 'axios';
 import { Salary } from '../../types/employee';
 import { payrollAPI } from '../../services/api';
 import './PayrollList.css';
@@ -11,13 +12,20 @@ interface PayrollListProps {
 const PayrollList: React.FC<PayrollListProps> = ({ salaries, onStatusUpdated }) => {
   const [loading, setLoading] = useState<number | null>(null);
 
-  const handleStatusUpdate = async (id: number, status: Salary['status']) => {
+  const handleStatusUpdate = async (salary: Salary, status: Salary['status']) => {
+    const id = salary.id;
     try {
       setLoading(id);
-      await payrollAPI.updateSalaryStatus(id, status);
+      await payrollAPI.updateSalaryStatus(id, status, salary.version);
       onStatusUpdated();
     } catch (error) {
-      alert('Failed to update salary status');
+      // 412: the list showed an older version; 409: another update committed at the same time
+      if (axios.isAxiosError(error) && (error.response?.status === 412 || error.response?.status === 409)) {
+        alert('This salary was changed by someone else. The list has been reloaded, please try again.');
+        onStatusUpdated();
+      } else {
+        alert('Failed to update salary status');
+      }
     } finally {
       setLoading(null);
     }
@@ -95,14 +103,14 @@ const PayrollList: React.FC<PayrollListProps> = ({ salaries, onStatusUpdated })
                     {salary.status === 'DRAFT' && (
                       <>
                         <button
-                          onClick={() => handleStatusUpdate(salary.id, 'APPROVED')}
+                          onClick={() => handleStatusUpdate(salary, 'APPROVED')}
                           disabled={loading === salary.id}
                           className="action-btn process"
                         >
                           Approve
                         </button>
                         <button
-                          onClick={() => handleStatusUpdate(salary.id, 'CANCELLED')}
+                          onClick={() => handleStatusUpdate(salary, 'CANCELLED')}
                           disabled={loading === salary.id}
                           className="action-btn cancel"
                         >
@@ -113,14 +121,14 @@ const PayrollList: React.FC<PayrollListProps> = ({ salaries, onStatusUpdated })
                     {salary.status === 'APPROVED' && (
                       <>
                         <button
-                          onClick={() => handleStatusUpdate(salary.id, 'PAID')}
+                          onClick={() => handleStatusUpdate(salary, 'PAID')}
                           disabled={loading === salary.id}
                           className="action-btn paid"
                         >
                           Mark Paid
                         </button>
                         <button
-                          onClick={() => handleStatusUpdate(salary.id, 'CANCELLED')}
+                          onClick={() => handleStatusUpdate(salary, 'CANCELLED')}
                           disabled={loading === salary.id}
                           className="action-btn cancel"
                         >
@@ -1,6 +1,6 @@
 import axios, { AxiosResponse } from 'axios';
 import { LoginRequest, LoginResponse } from '../types/auth';
-import { Employee, Salary } from '../types/employee';
+import { Employee, PayrollJob, PayrollStatusTransitionResult, PayrollSummary, Salary } from '../types/employee';
 
 const EMPLOYEE_SERVICE_URL = 'http://localhost:8081';
 const PAYROLL_SERVICE_URL = 'http://localhost:8082';
@@ -124,6 +124,15 @@ export const payrollAPI = {
     return response.data;
   },
 
+  // Totals per pay period, status and department from the server-side aggregates
+  getPayrollSummary: async (payPeriod?: string): Promise<PayrollSummary> => {
+    const response: AxiosResponse<PayrollSummary> = await api.get(
+      `${PAYROLL_SERVICE_URL}/api/payroll/summary`,
+      { params: payPeriod ? { payPeriod } : undefined }
+    );
+    return response.data;
+  },
+
   getSalariesByEmployee: async (employeeId: number): Promise<Salary[]> => {
     const response: AxiosResponse<Salary[]> = await api.get(
       `${PAYROLL_SERVICE_URL}/api/payroll/employee/${employeeId}`
@@ -139,17 +148,48 @@ export const payrollAPI = {
     return response.data;
   },
 
-  updateSalaryStatus: async (id: number, status: string): Promise<Salary> => {
+  // With a version the update is rejected (409) if someone else changed the record since it was loaded
+  updateSalaryStatus: async (id: number, status: string, version?: number): Promise<Salary> => {
     const response: AxiosResponse<Salary> = await api.put(
-      `${PAYROLL_SERVICE_URL}/api/payroll/${id}/status/${status}`
+      `${PAYROLL_SERVICE_URL}/api/payroll/${id}/status/${status}`,
+      undefined,
+      version !== undefined ? { headers: { 'If-Match': `"${version}"` } } : undefined
+    );
+    return response.data;
+  },
+
+  // Moves every record of the pay period that is in fromStatus to toStatus in one request
+  transitionPayrollStatus: async (
+    payPeriod: string,
+    fromStatus: string,
+    toStatus: string
+  ): Promise<PayrollStatusTransitionResult> => {
+    const response: AxiosResponse<PayrollStatusTransitionResult> = await api.post(
+      `${PAYROLL_SERVICE_URL}/api/payroll/status/transitions`,
+      { payPeriod, fromStatus, toStatus }
     );
     return response.data;
   },
 
-  generateBulkPayroll: async (): Promise<string> => {
-    const response: AxiosResponse<string> = await api.post(
+  // Starts a background job; poll getBulkPayrollJob for progress
+  generateBulkPayroll: async (): Promise<PayrollJob> => {
+    const response: AxiosResponse<PayrollJob> = await api.post(
       `${PAYROLL_SERVICE_URL}/api/payroll/bulk`
     );
     return response.data;
+  },
+
+  getBulkPayrollJob: async (id: number): Promise<PayrollJob> => {
+    const response: AxiosResponse<PayrollJob> = await api.get(
+      `${PAYROLL_SERVICE_URL}/api/payroll/bulk/jobs/${id}`
+    );
+    return response.data;
+  },
+
+  cancelBulkPayrollJob: async (id: number): Promise<PayrollJob> => {
+    const response: AxiosResponse<PayrollJob> = await api.post(
+      `${PAYROLL_SERVICE_URL}/api/payroll/bulk/jobs/${id}/cancel`
+    );
+    return response.data;
   }
 };
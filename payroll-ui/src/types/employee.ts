@@ -21,4 +21,45 @@ export interface Salary {
   payPeriod: string;    // Backend expects LocalDate format YYYY-MM-DD
   status: 'DRAFT' | 'APPROVED' | 'PAID' | 'CANCELLED';  // Updated to match backend enum
   createdAt?: string;   // Added to match backend
+  department?: string;
+  version?: number;     // Sent back as If-Match on status updates
+}
+
+export interface PayrollJob {
+  id: number;
+  payPeriod: string;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
+  expectedEmployees?: number;
+  totalEmployees: number;
+  processed: number;
+  skipped: number;
+  failed: number;
+  employeesPerSecond: number;
+  etaSeconds?: number;
+  message?: string;
+}
+
+export interface PayrollStatusTransitionResult {
+  payPeriod: string;
+  fromStatus: string;
+  toStatus: string;
+  updated: number;
+}
+
+export interface PayrollTotals {
+  key: string;
+  count: number;
+  basic: number;
+  allowances: number;
+  deductions: number;
+  net: number;
+  averageNet: number;
+}
+
+export interface PayrollSummary {
+  payPeriod?: string;
+  total: PayrollTotals;
+  byPayPeriod: PayrollTotals[];
+  byStatus: PayrollTotals[];
+  byDepartment: PayrollTotals[];
 }